@@ -0,0 +1,21 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.BookYourShowApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the real application context on an in-memory H2 database, seeded
+ * from {@code db.json} by the regular {@code DataLoader}.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BookYourShowApplication.class)
+                .properties("spring.config.additional-location=classpath:benchmark.properties")
+                .run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.dto.BookingRequest;
+import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.ShowRequest;
+import com.example.bookyourshow.service.BookingService;
+import com.example.bookyourshow.service.ShowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking creation and cancellation through {@link BookingService} against H2.
+ * Every iteration cancels what it booked, so the show never sells out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long THEATRE_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        bookingService = context.getBean(BookingService.class);
+
+        ShowRequest show = new ShowRequest();
+        show.setMovieTitle("Benchmark");
+        show.setTheatreId(THEATRE_ID);
+        show.setDate(LocalDate.now().plusDays(1));
+        show.setTime(LocalTime.of(20, 0));
+        show.setPrice(new BigDecimal("200.00"));
+        show.setSeatsAvailable(2000);
+        Long showId = context.getBean(ShowService.class).createShow(show).getId();
+
+        request = new BookingRequest(USER_ID, showId, 2, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponse createAndCancel() {
+        BookingResponse booking = bookingService.createBooking(request);
+        return bookingService.cancelBooking(booking.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.entity.User;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.TheatreRepository;
+import com.example.bookyourshow.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts {@code rows} bookings in transactions of {@code chunk}, through
+ * {@code saveAll} (plain JPA) and through {@code insertBatch} (the batch
+ * booking path). Each invocation is timed once, since the table keeps growing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"1000"})
+    public int chunk;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BookingRepository bookingRepository;
+    private List<User> users;
+    private Show show;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        users = context.getBean(UserRepository.class).findAll();
+
+        Theatre theatre = context.getBean(TheatreRepository.class).findAll().get(0);
+        Show bulk = new Show();
+        bulk.setMovieTitle("Bulk Insert");
+        bulk.setTheatre(theatre);
+        bulk.setStartTime(LocalDateTime.now().plusDays(1).withNano(0));
+        bulk.setPrice(new BigDecimal("150.00"));
+        bulk.setSeatsAvailable(Integer.MAX_VALUE);
+        show = context.getBean(ShowRepository.class).save(bulk);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveAll() {
+        for (int done = 0; done < rows; done += chunk) {
+            List<Booking> bookings = bookings(done);
+            transactionTemplate.executeWithoutResult(tx -> bookingRepository.saveAll(bookings));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int insertBatch() {
+        for (int done = 0; done < rows; done += chunk) {
+            List<Booking> bookings = bookings(done);
+            transactionTemplate.executeWithoutResult(tx -> bookingRepository.insertBatch(bookings));
+        }
+        return rows;
+    }
+
+    private List<Booking> bookings(int offset) {
+        int size = Math.min(chunk, rows - offset);
+        List<Booking> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Booking booking = new Booking();
+            booking.setUser(users.get((offset + i) % users.size()));
+            booking.setShow(show);
+            booking.setSeats(2);
+            booking.setSeatNumbers("A1,A2");
+            booking.setTotalPrice(new BigDecimal("300.00"));
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.entity.User;
+import com.example.bookyourshow.service.BookingServiceImpl;
+import com.example.bookyourshow.service.ShowServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.objenesis.ObjenesisStd;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and Jackson serialization of booking and show lists.
+ * <p>
+ * The services' {@code mapToResponse} methods are private, so they are called
+ * through method handles on instances created without their dependencies,
+ * which the mapping does not touch. Serialization writes to a discarding
+ * stream so only encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Booking> bookings;
+    private List<Show> shows;
+    private List<BookingResponse> bookingResponses;
+    private List<ShowResponse> showResponses;
+
+    private MethodHandle mapBooking;
+    private MethodHandle mapShow;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        ObjenesisStd objenesis = new ObjenesisStd();
+        mapBooking = mapper(BookingServiceImpl.class, objenesis.newInstance(BookingServiceImpl.class),
+                BookingResponse.class, Booking.class);
+        mapShow = mapper(ShowServiceImpl.class, objenesis.newInstance(ShowServiceImpl.class),
+                ShowResponse.class, Show.class);
+
+        // Same date handling as the application (spring.jackson.serialization.write-dates-as-timestamps=false)
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Theatre theatre = new Theatre();
+        theatre.setId(1L);
+        User user = new User();
+        user.setId(1L);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        shows = new ArrayList<>(rows);
+        bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Show show = new Show();
+            show.setId((long) i);
+            show.setMovieTitle("Movie " + (i % 500));
+            show.setTheatre(theatre);
+            show.setStartTime(now.plusMinutes(i));
+            show.setPrice(new BigDecimal("180.00"));
+            show.setSeatsAvailable(250);
+            show.setLanguage("Telugu");
+            show.setScreen("Screen " + (i % 6 + 1));
+            shows.add(show);
+
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setUser(user);
+            booking.setShow(show);
+            booking.setSeats(2);
+            booking.setSeatNumbers("A1,A2");
+            booking.setTotalPrice(new BigDecimal("360.00"));
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            booking.setBookingTime(now);
+            bookings.add(booking);
+        }
+
+        bookingResponses = mapBookings();
+        showResponses = mapShows();
+    }
+
+    @Benchmark
+    public List<BookingResponse> mapBookings() throws Throwable {
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add((BookingResponse) mapBooking.invokeExact(booking));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ShowResponse> mapShows() throws Throwable {
+        List<ShowResponse> responses = new ArrayList<>(shows.size());
+        for (Show show : shows) {
+            responses.add((ShowResponse) mapShow.invokeExact(show));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public long serializeBookings() throws IOException {
+        return serialize(bookingResponses);
+    }
+
+    @Benchmark
+    public long serializeShows() throws IOException {
+        return serialize(showResponses);
+    }
+
+    private long serialize(Object value) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, value);
+        return out.count;
+    }
+
+    private static MethodHandle mapper(Class<?> service, Object instance, Class<?> response, Class<?> entity)
+            throws ReflectiveOperationException {
+        return MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                .findVirtual(service, "mapToResponse", MethodType.methodType(response, entity))
+                .bindTo(instance);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.entity.User;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.BookingView;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.ShowView;
+import com.example.bookyourshow.repository.TheatreRepository;
+import com.example.bookyourshow.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of shows and bookings read as managed entities (the previous read
+ * path) versus the record projections the services use now. Run with
+ * {@code -prof gc} to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private ShowRepository showRepository;
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+        showRepository = context.getBean(ShowRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        List<Theatre> theatres = context.getBean(TheatreRepository.class).findAll();
+        List<User> users = context.getBean(UserRepository.class).findAll();
+        List<Show> shows = new ArrayList<>(rows);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < rows; i++) {
+            Show show = new Show();
+            show.setMovieTitle("Projection " + i);
+            show.setTheatre(theatres.get(i % theatres.size()));
+            show.setStartTime(start.plusHours(i % 72));
+            show.setPrice(new BigDecimal("150.00"));
+            show.setSeatsAvailable(200);
+            shows.add(show);
+        }
+        shows = showRepository.saveAll(shows);
+
+        List<Booking> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Booking booking = new Booking();
+            booking.setUser(users.get(i % users.size()));
+            booking.setShow(shows.get(i));
+            booking.setSeats(2);
+            booking.setSeatNumbers("A1,A2");
+            booking.setTotalPrice(new BigDecimal("300.00"));
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            bookings.add(booking);
+        }
+        bookingRepository.insertBatch(bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ShowResponse> showEntities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select s from Show s order by s.id", Show.class)
+                .setMaxResults(rows)
+                .getResultStream()
+                .map(ProjectionBenchmark::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ShowResponse> showProjections() {
+        return readOnly.execute(status -> showRepository.findViewsAfter(0L, PageRequest.of(0, rows)).stream()
+                .map(ProjectionBenchmark::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingEntities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select b from Booking b order by b.id", Booking.class)
+                .setMaxResults(rows)
+                .getResultStream()
+                .map(ProjectionBenchmark::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingProjections() {
+        return readOnly.execute(status -> bookingRepository.findViewsAfter(0L, PageRequest.of(0, rows)).stream()
+                .map(ProjectionBenchmark::toResponse)
+                .toList());
+    }
+
+    // Same field copies as the services' mapToResponse methods
+
+    private static ShowResponse toResponse(Show show) {
+        return new ShowResponse(show.getId(), show.getMovieTitle(), show.getTheatre().getId(),
+                show.getStartTime().toLocalDate(), show.getStartTime().toLocalTime(), show.getPrice(),
+                show.getSeatsAvailable(), show.getLanguage(), show.getScreen());
+    }
+
+    private static ShowResponse toResponse(ShowView show) {
+        return new ShowResponse(show.id(), show.movieTitle(), show.theatreId(),
+                show.startTime().toLocalDate(), show.startTime().toLocalTime(), show.price(),
+                show.seatsAvailable(), show.language(), show.screen());
+    }
+
+    private static BookingResponse toResponse(Booking booking) {
+        return new BookingResponse(booking.getId(), booking.getUser().getId(), booking.getShow().getId(),
+                booking.getSeats(), booking.getTotalPrice().doubleValue(), booking.getStatus().name(),
+                booking.getBookingTime(), List.of(booking.getSeatNumbers().split(",")), booking.getHoldExpiresAt());
+    }
+
+    private static BookingResponse toResponse(BookingView booking) {
+        return new BookingResponse(booking.id(), booking.userId(), booking.showId(),
+                booking.seats(), booking.totalPrice().doubleValue(), booking.status().name(),
+                booking.bookingTime(), List.of(booking.seatNumbers().split(",")), booking.holdExpiresAt());
+    }
+}
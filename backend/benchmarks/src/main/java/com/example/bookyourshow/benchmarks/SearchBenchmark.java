@@ -0,0 +1,84 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.service.ShowSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShowSearchIndex} queries over a synthetic catalogue: a prefix as typed,
+ * a misspelt title, a theatre name and an exact substring lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {"the", "last", "kingdom", "animal", "leo", "salaar", "devara", "pushpa",
+            "kalki", "jawan", "dunki", "return", "of", "night", "city", "rising", "shadow", "empire", "dragon", "storm",
+            "river", "mountain", "golden", "silent", "hunter", "lost", "world", "rebel", "king", "queen"};
+    private static final String[] LANGUAGES = {"Telugu", "Hindi", "Tamil", "English", "Malayalam", "Kannada"};
+    private static final String[] THEATRES = {"PVR Inorbit", "AMB Cinemas", "Prasads IMAX", "INOX GVK One", "Cinepolis Mantra"};
+
+    @Param({"100000"})
+    public int shows;
+
+    private ShowSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ShowSearchIndex(null, null);
+        Random random = new Random(42);
+        for (int i = 1; i <= shows; i++) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+            title.append(' ').append(i % 1000);
+            int theatre = random.nextInt(THEATRES.length);
+            index.put((long) i, (long) theatre + 1, title.toString(),
+                    LANGUAGES[random.nextInt(LANGUAGES.length)], THEATRES[theatre]);
+        }
+    }
+
+    @Benchmark
+    public List<ShowSearchIndex.Hit> prefix() {
+        return index.search("golden dra", null, 20);
+    }
+
+    @Benchmark
+    public List<ShowSearchIndex.Hit> typo() {
+        return index.search("mountian", null, 20);
+    }
+
+    @Benchmark
+    public List<ShowSearchIndex.Hit> theatre() {
+        return index.search("prasads", null, 20);
+    }
+
+    @Benchmark
+    public List<Long> substring() {
+        return index.containing("kingdom", 2L);
+    }
+}
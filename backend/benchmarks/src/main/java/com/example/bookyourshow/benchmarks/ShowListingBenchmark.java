@@ -0,0 +1,100 @@
+package com.example.bookyourshow.benchmarks;
+
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.TheatreRepository;
+import com.example.bookyourshow.service.ShowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShowService#getShows} with no filter, a theatre filter, a title filter and both,
+ * reading one page of up to 1000 shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShowListingBenchmark {
+
+    private static final String[] TITLES = {"Animal", "Leo", "Salaar", "Devara", "Pushpa", "Kalki", "Jawan", "Dunki"};
+
+    private static final int LIMIT = 1000;
+
+    @Param({"1000"})
+    public int shows;
+
+    private ConfigurableApplicationContext context;
+    private ShowService showService;
+    private Optional<Long> theatreId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        showService = context.getBean(ShowService.class);
+
+        List<Theatre> theatres = context.getBean(TheatreRepository.class).findAll();
+        List<Show> batch = new ArrayList<>(shows);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < shows; i++) {
+            Show show = new Show();
+            show.setMovieTitle(TITLES[i % TITLES.length] + " " + i);
+            show.setTheatre(theatres.get(i % theatres.size()));
+            show.setStartTime(start.plusHours(i % 72));
+            show.setPrice(new BigDecimal("150.00"));
+            show.setSeatsAvailable(200);
+            batch.add(show);
+        }
+        context.getBean(ShowRepository.class).saveAll(batch);
+        theatreId = Optional.of(theatres.get(0).getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<ShowResponse> all() {
+        return showService.getShows(Optional.empty(), Optional.empty(), null, LIMIT);
+    }
+
+    @Benchmark
+    public CursorPage<ShowResponse> byTheatre() {
+        return showService.getShows(theatreId, Optional.empty(), null, LIMIT);
+    }
+
+    @Benchmark
+    public CursorPage<ShowResponse> byTitle() {
+        return showService.getShows(Optional.empty(), Optional.of("animal"), null, LIMIT);
+    }
+
+    @Benchmark
+    public CursorPage<ShowResponse> byTheatreAndTitle() {
+        return showService.getShows(theatreId, Optional.of("animal"), null, LIMIT);
+    }
+}
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling.
+#
+# Starts the packaged application once per mode, drives the show listing and
+# booking endpoints with wrk and prints requests/sec and p99 latency for each.
+# Needs a JDK 21 build (mvn -Pjdk21 package), wrk on the PATH and the database
+# from application.properties. Extra arguments are passed to the application,
+# e.g. --spring.datasource.url=...
+#
+# Environment: DURATION (30s), THREADS (4), CONNECTIONS (200), SHOW_ID (4), USER_ID (1), PORT (8080)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v -e original -e classes | head -1)
+DURATION=${DURATION:-30s}
+THREADS=${THREADS:-4}
+CONNECTIONS=${CONNECTIONS:-200}
+SHOW_ID=${SHOW_ID:-4}
+USER_ID=${USER_ID:-1}
+PORT=${PORT:-8080}
+BASE=http://localhost:$PORT
+WORK=$(mktemp -d)
+trap 'kill $APP 2>/dev/null || true; rm -rf "$WORK"' EXIT
+
+cat > "$WORK/booking.lua" <<LUA
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+wrk.body = '{"userId":$USER_ID,"showId":$SHOW_ID,"seats":1}'
+LUA
+
+run() {
+    local label=$1 url=$2; shift 2
+    local out
+    out=$(wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$@" "$url")
+    printf '%-10s %-14s %12s req/s   p99 %s\n' "$MODE" "$label" \
+        "$(awk '/Requests\/sec/ {print $2}' <<<"$out")" \
+        "$(awk '$1 == "99%" {print $2}' <<<"$out")"
+}
+
+for MODE in platform virtual; do
+    VIRTUAL=false
+    [ "$MODE" = virtual ] && VIRTUAL=true
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PORT" \
+        --app.threads.virtual="$VIRTUAL" --spring.jpa.show-sql=false "$@" > "$WORK/$MODE.log" 2>&1 &
+    APP=$!
+    until curl -sf "$BASE/api/shows" > /dev/null; do sleep 1; done
+
+    run shows "$BASE/api/shows"
+    run bookings "$BASE/api/bookings" -s "$WORK/booking.lua"
+
+    kill $APP; wait $APP 2>/dev/null || true
+    pins=$(grep -c "<== monitors" "$WORK/$MODE.log" || true)
+    [ "$MODE" = virtual ] && echo "virtual    pinned-thread reports: $pins"
+done
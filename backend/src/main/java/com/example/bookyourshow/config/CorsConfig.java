@@ -32,6 +32,8 @@ public class CorsConfig {
             "Content-Type",
             "Accept",
             "Authorization",
+            "Idempotency-Key",
+            "If-None-Match",
             "Access-Control-Allow-Origin",
             "Access-Control-Allow-Headers",
             "Access-Control-Allow-Methods"
@@ -50,7 +52,10 @@ public class CorsConfig {
         // Exposed headers
         config.setExposedHeaders(Arrays.asList(
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "Idempotent-Replayed",
+            "X-Next-Cursor",
+            "ETag"
         ));
         
         // Max age
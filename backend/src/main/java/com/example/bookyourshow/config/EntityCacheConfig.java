@@ -0,0 +1,88 @@
+package com.example.bookyourshow.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Regions of the Hibernate second-level cache: {@code theatres}, {@code shows} and
+ * {@code users} entities plus the query cache, each a bounded Caffeine cache with
+ * a TTL. Regions are created here rather than on first use, so a region name
+ * that is not configured fails at startup. Hits and misses are published per
+ * region as {@code cache.gets} and {@code cache.puts}, tagged with the region in
+ * {@code cache}.
+ * <p>
+ * {@code shows.seats_available} and {@code shows.seat_map} are written by native
+ * updates that leave the {@code shows} region alone, so a cached show carries stale
+ * seat columns. Seat counts are read from {@code SeatInventory} and seat maps
+ * through {@code ShowRepository.findUncachedById}, never from a cached show.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String THEATRES = "theatres";
+    public static final String SHOWS = "shows";
+    public static final String USERS = "users";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(MeterRegistry registry,
+                                           @Value("${app.entity-cache.theatres.max-entries:10000}") long maxTheatres,
+                                           @Value("${app.entity-cache.shows.max-entries:50000}") long maxShows,
+                                           @Value("${app.entity-cache.users.max-entries:100000}") long maxUsers,
+                                           @Value("${app.entity-cache.queries.max-entries:10000}") long maxQueries,
+                                           @Value("${app.entity-cache.ttl-seconds:600}") long ttlSeconds,
+                                           @Value("${app.entity-cache.queries.ttl-seconds:60}") long queryTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("entity-cache"), getClass().getClassLoader());
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        monitor(registry, cacheManager.createCache(THEATRES, bounded(maxTheatres, ttl)));
+        monitor(registry, cacheManager.createCache(SHOWS, bounded(maxShows, ttl)));
+        monitor(registry, cacheManager.createCache(USERS, bounded(maxUsers, ttl)));
+        monitor(registry, cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(maxQueries, Duration.ofSeconds(queryTtlSeconds))));
+        // Last-change times of each table; cached query results are checked against them, so no eviction
+        monitor(registry, cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                unbounded()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = unbounded();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> unbounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private static void monitor(MeterRegistry registry, Cache<Object, Object> cache) {
+        JCacheMetrics.monitor(registry, cache);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.bookyourshow.config;
+
+import com.example.bookyourshow.monitoring.PoolSaturationMetrics;
+import com.example.bookyourshow.monitoring.ServiceTimingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application metrics beyond what Spring Boot records on its own: latency of every
+ * {@code *ServiceImpl} method and saturation of the connection pools. Endpoint
+ * latency is {@code http.server.requests}; histograms for both are switched on in
+ * {@code application.properties} and scraped at {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String SERVICE_PACKAGE = "com.example.bookyourshow.service.";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(type -> type.getName().startsWith(SERVICE_PACKAGE)
+                && type.getSimpleName().endsWith("ServiceImpl"));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ServiceTimingInterceptor(registry));
+        // Outermost, so the time includes the commit of transactional methods
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public PoolSaturationMetrics poolSaturationMetrics(ObjectProvider<DataSource> dataSources,
+                                                       ObjectProvider<ReplicaPools> replicaPools) throws SQLException {
+        List<HikariDataSource> pools = new ArrayList<>();
+        ReplicaPools replicas = replicaPools.getIfAvailable();
+        if (replicas != null) {
+            pools.addAll(replicas.all());
+        }
+        for (DataSource dataSource : dataSources) {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                if (!pools.contains(pool)) {
+                    pools.add(pool);
+                }
+            }
+        }
+        return new PoolSaturationMetrics(pools);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookyourshow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, switched on by {@code app.datasource.replicas.urls}. Replaces the
+ * single pool Spring Boot would build from {@code spring.datasource.*} with a
+ * primary pool from the same settings plus one read-only pool per replica URL,
+ * behind a {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties properties, Environment environment, MeterRegistry registry,
+                                     @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                     @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                     @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                     @Value("${app.datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+                                     @Value("${app.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        HikariDataSource primary = pool(properties, environment, registry, "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = pool(properties, environment, registry, "replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // A replica that is down should cost a read one short wait, not the primary's timeout
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replicas.add(replica);
+        }
+        return new ReplicaPools(primary, replicas, maxLagMillis, registry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPools pools, MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(pools, registry));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry registry, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // The pools are not beans, so Spring Boot does not register their metrics
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.bookyourshow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary connection pool and the read replica pools, with replica lag tracking.
+ * <p>
+ * Lag is measured with a heartbeat row: every {@code app.datasource.replicas.lag-check-ms}
+ * the current time is written to {@code replica_heartbeat} on the primary and read
+ * back from each replica. A replica serves reads while its lag is known and at most
+ * {@code app.datasource.replicas.max-lag-ms}; otherwise, or after a failed
+ * connection, reads fall back to the primary until the next check clears it.
+ */
+@Slf4j
+public class ReplicaPools implements AutoCloseable {
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final String BEAT_SQL = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String FIRST_BEAT_SQL = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String READ_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final JdbcTemplate heartbeat;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas, long maxLagMillis, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+        this.heartbeat = new JdbcTemplate(primary);
+        heartbeat.execute(CREATE_SQL);
+        for (Replica replica : this.replicas) {
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                    .tag("replica", replica.name())
+                    .description("Replica lag behind the primary; NaN while unknown")
+                    .register(registry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", replica.name())
+                    .description("1 while the replica serves reads")
+                    .register(registry);
+        }
+        checkLag();
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    /**
+     * The primary pool followed by the replica pools.
+     */
+    public List<HikariDataSource> all() {
+        List<HikariDataSource> all = new ArrayList<>();
+        all.add(primary);
+        replicas.forEach(replica -> all.add(replica.pool));
+        return all;
+    }
+
+    /**
+     * The next available replica in round-robin order, or null if none is available.
+     */
+    public Replica nextReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-ms:1000}",
+               initialDelayString = "${app.datasource.replicas.lag-check-ms:1000}")
+    public void checkLag() {
+        long now = System.currentTimeMillis();
+        try {
+            if (heartbeat.update(BEAT_SQL, now) == 0) {
+                heartbeat.update(FIRST_BEAT_SQL, now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write replica heartbeat: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    /**
+     * One replica pool and its last measured lag.
+     */
+    public final class Replica {
+        private final HikariDataSource pool;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile double lagMillis = Double.NaN;
+        private volatile boolean available;
+        private boolean checked;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.jdbcTemplate = new JdbcTemplate(pool);
+        }
+
+        public String name() {
+            return pool.getPoolName();
+        }
+
+        public HikariDataSource pool() {
+            return pool;
+        }
+
+        /**
+         * Takes the replica out of rotation until the next lag check, e.g. after a failed connection.
+         */
+        public void fail(Exception e) {
+            if (available) {
+                log.warn("Replica {} failed, reading from the primary: {}", name(), e.getMessage());
+            }
+            available = false;
+        }
+
+        private void check() {
+            boolean wasAvailable = available;
+            try {
+                Long beatAt = jdbcTemplate.query(READ_SQL, rs -> rs.next() ? rs.getLong(1) : null);
+                lagMillis = beatAt == null ? Double.NaN : Math.max(0, System.currentTimeMillis() - beatAt);
+            } catch (DataAccessException e) {
+                if (wasAvailable || !checked) {
+                    log.warn("Replica {} heartbeat check failed: {}", name(), e.getMessage());
+                }
+                lagMillis = Double.NaN;
+            }
+            available = lagMillis <= maxLagMillis;
+            if (wasAvailable != available || !checked) {
+                log.info("Replica {} {} (lag {} ms)", name(), available ? "serving reads" : "out of rotation", lagMillis);
+            }
+            checked = true;
+        }
+    }
+}
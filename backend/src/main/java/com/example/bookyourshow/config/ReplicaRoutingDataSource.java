@@ -0,0 +1,79 @@
+package com.example.bookyourshow.config;
+
+import com.example.bookyourshow.repository.ReplicaRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out connections from the primary or a read replica of {@link ReplicaPools}.
+ * Read-only transactions get the next available replica, unless the caller is
+ * inside {@link ReplicaRouting#onPrimary}; everything else gets the primary.
+ * <p>
+ * Must sit behind a {@link LazyConnectionDataSourceProxy}: the transaction manager
+ * asks for a connection before it marks the transaction read-only, so the choice
+ * is deferred to the first statement. Decisions are counted in
+ * {@code datasource.routing}, tagged with the pool and the reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaPools pools;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(ReplicaPools pools, MeterRegistry registry) {
+        this.pools = pools;
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary("read-write");
+        }
+        if (ReplicaRouting.isPrimaryRequired()) {
+            return primary("pinned");
+        }
+        ReplicaPools.Replica replica = pools.nextReplica();
+        if (replica == null) {
+            return primary("no-replica");
+        }
+        Connection connection;
+        try {
+            connection = replica.pool().getConnection();
+        } catch (SQLException e) {
+            replica.fail(e);
+            return primary("replica-failed");
+        }
+        count(replica.name(), "read-only");
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections use the configured credentials of each pool");
+    }
+
+    private Connection primary(String reason) throws SQLException {
+        Connection connection = pools.primary().getConnection();
+        count(pools.primary().getPoolName(), reason);
+        return connection;
+    }
+
+    private void count(String pool, String reason) {
+        decisions.computeIfAbsent(pool + '/' + reason, key -> Counter.builder("datasource.routing")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .description("Connections handed out, by pool and routing reason")
+                .register(registry))
+                .increment();
+    }
+}
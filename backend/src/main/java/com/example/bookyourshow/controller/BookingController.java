@@ -1,8 +1,11 @@
 package com.example.bookyourshow.controller;
 
+import com.example.bookyourshow.dto.BookingBatchResponse;
 import com.example.bookyourshow.dto.BookingRequest;
 import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.service.BookingService;
+import com.example.bookyourshow.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,18 +21,60 @@ import java.util.Optional;
 @CrossOrigin("*")
 public class BookingController {
     
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
     
     @PostMapping
-    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request) {
-        BookingResponse response = bookingService.createBooking(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            BookingResponse response = bookingService.createBooking(request);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+        IdempotencyService.Outcome<BookingResponse> outcome = idempotencyService.execute(
+            "POST /api/bookings", idempotencyKey, request, BookingResponse.class,
+            () -> bookingService.createBooking(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+            .body(outcome.response());
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResponse> createBookings(@RequestBody List<BookingRequest> requests) {
+        BookingBatchResponse response = bookingService.createBookings(requests);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponse> holdSeats(@Valid @RequestBody BookingRequest request,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            BookingResponse response = bookingService.holdSeats(request);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+        IdempotencyService.Outcome<BookingResponse> outcome = idempotencyService.execute(
+            "POST /api/bookings/holds", idempotencyKey, request, BookingResponse.class,
+            () -> bookingService.holdSeats(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+            .body(outcome.response());
+    }
+    
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmBooking(@PathVariable Long id) {
+        BookingResponse response = bookingService.confirmBooking(id);
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getAllBookings(@RequestParam(required = false) Long userId) {
-        List<BookingResponse> bookings = bookingService.getAllBookings(Optional.ofNullable(userId));
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<List<BookingResponse>> getAllBookings(@RequestParam(required = false) Long userId,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
+        CursorPage<BookingResponse> bookings = bookingService.getAllBookings(Optional.ofNullable(userId), after, limit);
+        return CursorPages.ok(bookings);
     }
     
     @GetMapping("/{id}")
@@ -39,9 +84,18 @@ public class BookingController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id) {
-        BookingResponse response = bookingService.cancelBooking(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            BookingResponse response = bookingService.cancelBooking(id);
+            return ResponseEntity.ok(response);
+        }
+        IdempotencyService.Outcome<BookingResponse> outcome = idempotencyService.execute(
+            "DELETE /api/bookings/" + id, idempotencyKey, null, BookingResponse.class,
+            () -> bookingService.cancelBooking(id));
+        return ResponseEntity.ok()
+            .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+            .body(outcome.response());
     }
 
     @PatchMapping("/{id}")
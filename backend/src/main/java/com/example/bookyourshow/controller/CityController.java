@@ -0,0 +1,28 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.dto.CityShowsResponse;
+import com.example.bookyourshow.service.CatalogueVersions;
+import com.example.bookyourshow.service.CityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/cities")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class CityController {
+
+    private final CityService cityService;
+    private final CatalogueVersions catalogueVersions;
+
+    @GetMapping("/{city}/shows")
+    public ResponseEntity<CityShowsResponse> getCityShows(@PathVariable String city, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.citiesETag())) {
+            return null;
+        }
+        CityShowsResponse response = cityService.getCityShows(city);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Renders a {@link CursorPage} as a plain JSON array, with the cursor of the
+ * next page in the {@code X-Next-Cursor} header (absent on the last page).
+ */
+final class CursorPages {
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private CursorPages() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.dto.ExportFilter;
+import com.example.bookyourshow.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class ExportController {
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    
+    private final ExportService exportService;
+    
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long theatreId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFilter filter = new ExportFilter(from, to, theatreId, status);
+        exportService.validate(filter);
+        return stream("bookings", gzip, out -> exportService.exportBookings(filter, out));
+    }
+    
+    @GetMapping("/shows")
+    public ResponseEntity<StreamingResponseBody> exportShows(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long theatreId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFilter filter = new ExportFilter(from, to, theatreId, null);
+        exportService.validate(filter);
+        return stream("shows", gzip, out -> exportService.exportShows(filter, out));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, StreamingResponseBody body) {
+        if (!gzip) {
+            return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + ".ndjson\"")
+                .body(body);
+        }
+        return ResponseEntity.ok()
+            .contentType(GZIP)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + ".ndjson.gz\"")
+            .body(out -> {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                body.writeTo(compressed);
+                compressed.finish();
+            });
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.dto.ImportResponse;
+import com.example.bookyourshow.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class ImportController {
+    
+    private final ImportService importService;
+    
+    // The body is read as a stream, never buffered whole; send it with Content-Encoding: gzip to compress it
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResponse> importData(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 64 * 1024);
+        }
+        return ResponseEntity.ok(importService.importData(body));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.journal.BookingJournal;
+import com.example.bookyourshow.journal.JournalRecord;
+import com.example.bookyourshow.service.Pagination;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/journal")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true", matchIfMissing = true)
+public class JournalController {
+
+    private final BookingJournal bookingJournal;
+    private final Pagination pagination;
+
+    // after is a journal offset; to follow new changes, poll again from the last record's nextOffset
+    @GetMapping
+    public ResponseEntity<List<JournalRecord>> getRecords(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        return CursorPages.ok(bookingJournal.read(Pagination.after(after), pagination.limit(limit)));
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.bookyourshow.controller;
 
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.dto.SeatMapResponse;
+import com.example.bookyourshow.dto.ShowBatchRequest;
 import com.example.bookyourshow.dto.ShowRequest;
 import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.service.AvailabilityFeed;
+import com.example.bookyourshow.service.CatalogueVersions;
 import com.example.bookyourshow.service.ShowService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,30 +27,87 @@ import java.util.Optional;
 public class ShowController {
     
     private final ShowService showService;
+    private final CatalogueVersions catalogueVersions;
+    private final AvailabilityFeed availabilityFeed;
     
     @GetMapping
     public ResponseEntity<List<ShowResponse>> getShows(
             @RequestParam(required = false) Long theatreId,
-            @RequestParam(required = false) String movieTitle) {
-        List<ShowResponse> shows = showService.getShows(
+            @RequestParam(required = false) String movieTitle,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.showsETag())) {
+            return null;
+        }
+        CursorPage<ShowResponse> shows = showService.getShows(
             Optional.ofNullable(theatreId),
-            Optional.ofNullable(movieTitle)
+            Optional.ofNullable(movieTitle),
+            after,
+            limit
         );
+        return CursorPages.ok(shows);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<ShowResponse>> searchShows(
+            @RequestParam String q,
+            @RequestParam(required = false) Long theatreId,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.showsETag())) {
+            return null;
+        }
+        List<ShowResponse> shows = showService.searchShows(q, Optional.ofNullable(theatreId), limit);
         return ResponseEntity.ok(shows);
     }
     
+    @GetMapping("/availability")
+    public ResponseEntity<Map<Long, Integer>> getAvailability(@RequestParam List<Long> ids, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.showsETag())) {
+            return null;
+        }
+        Map<Long, Integer> availability = showService.getAvailability(ids);
+        return ResponseEntity.ok(availability);
+    }
+    
+    @GetMapping("/availability/stream")
+    public SseEmitter streamAvailability(@RequestParam List<Long> ids) {
+        return availabilityFeed.subscribe(showService.getAvailability(ids));
+    }
+    
     @PostMapping
     public ResponseEntity<ShowResponse> createShow(@Valid @RequestBody ShowRequest request) {
         ShowResponse response = showService.createShow(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<ShowResponse>> createShows(@Valid @RequestBody ShowBatchRequest request) {
+        List<ShowResponse> response = showService.createShows(request.getShows());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<ShowResponse> getShow(@PathVariable Long id) {
+    public ResponseEntity<ShowResponse> getShow(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.showsETag())) {
+            return null;
+        }
         ShowResponse response = showService.getShow(id);
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long id) {
+        SeatMapResponse response = showService.getSeatMap(id);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{id}/availability/stream")
+    public SseEmitter streamShowAvailability(@PathVariable Long id) {
+        return availabilityFeed.subscribe(showService.getAvailability(List.of(id)));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ShowResponse> updateShow(@PathVariable Long id, @Valid @RequestBody ShowRequest request) {
         ShowResponse response = showService.updateShow(id, request);
@@ -1,13 +1,16 @@
 package com.example.bookyourshow.controller;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.TheatreRequest;
 import com.example.bookyourshow.dto.TheatreResponse;
+import com.example.bookyourshow.service.CatalogueVersions;
 import com.example.bookyourshow.service.TheatreService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,16 +21,23 @@ import java.util.List;
 public class TheatreController {
     
     private final TheatreService theatreService;
+    private final CatalogueVersions catalogueVersions;
     
     @GetMapping
-    public ResponseEntity<List<TheatreResponse>> getAllTheatres(@RequestParam(required = false) String city) {
-        List<TheatreResponse> theatres;
+    public ResponseEntity<List<TheatreResponse>> getAllTheatres(@RequestParam(required = false) String city,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.theatresETag())) {
+            return null;
+        }
+        CursorPage<TheatreResponse> theatres;
         if (city != null && !city.isEmpty()) {
-            theatres = theatreService.getTheatresByCity(city);
+            theatres = theatreService.getTheatresByCity(city, after, limit);
         } else {
-            theatres = theatreService.getAllTheatres();
+            theatres = theatreService.getAllTheatres(after, limit);
         }
-        return ResponseEntity.ok(theatres);
+        return CursorPages.ok(theatres);
     }
     
     @PostMapping
@@ -37,7 +47,10 @@ public class TheatreController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<TheatreResponse> getTheatre(@PathVariable Long id) {
+    public ResponseEntity<TheatreResponse> getTheatre(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogueVersions.theatresETag())) {
+            return null;
+        }
         TheatreResponse response = theatreService.getTheatre(id);
         return ResponseEntity.ok(response);
     }
@@ -1,5 +1,6 @@
 package com.example.bookyourshow.controller;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.UserRequest;
 import com.example.bookyourshow.dto.UserResponse;
 import com.example.bookyourshow.service.UserService;
@@ -26,9 +27,10 @@ public class UserController {
     }
     
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        CursorPage<UserResponse> users = userService.getAllUsers(after, limit);
+        return CursorPages.ok(users);
     }
     
     @GetMapping("/{id}")
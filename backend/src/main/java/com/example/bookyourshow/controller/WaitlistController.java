@@ -0,0 +1,37 @@
+package com.example.bookyourshow.controller;
+
+import com.example.bookyourshow.dto.WaitlistRequest;
+import com.example.bookyourshow.dto.WaitlistResponse;
+import com.example.bookyourshow.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class WaitlistController {
+    
+    private final WaitlistService waitlistService;
+    
+    @PostMapping
+    public ResponseEntity<WaitlistResponse> join(@Valid @RequestBody WaitlistRequest request) {
+        WaitlistResponse response = waitlistService.join(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistResponse> getEntry(@PathVariable Long id) {
+        WaitlistResponse response = waitlistService.getEntry(id);
+        return ResponseEntity.ok(response);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistResponse> leave(@PathVariable Long id) {
+        WaitlistResponse response = waitlistService.leave(id);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchItemResult {
+    private Integer index;
+    private Integer status;
+    private BookingResponse booking;
+    private String error;
+}
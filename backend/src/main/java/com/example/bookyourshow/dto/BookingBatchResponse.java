@@ -0,0 +1,16 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResponse {
+    private Integer succeeded;
+    private Integer failed;
+    private List<BookingBatchItemResult> results;
+}
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -18,5 +19,7 @@ public class BookingResponse {
     private Double totalPrice;
     private String status;
     private LocalDateTime bookingTime;
+    private List<String> seatsSelected;
+    private LocalDateTime holdExpiresAt;
 }
 
@@ -0,0 +1,20 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityMovieResponse {
+    private String movieTitle;
+    private Integer theatreCount;
+    private Integer showCount;
+    private BigDecimal minPrice;
+    private Integer seatsAvailable;
+    private List<ShowResponse> shows;
+}
@@ -0,0 +1,22 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of the streaming exports. Dates are inclusive; for bookings they
+ * apply to the booking time, for shows to the start time. {@code status}
+ * only applies to bookings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportFilter {
+    private LocalDate from;
+    private LocalDate to;
+    private Long theatreId;
+    private String status;
+}
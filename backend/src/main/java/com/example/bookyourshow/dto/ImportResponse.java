@@ -0,0 +1,22 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Row counts of an import per section ({@code users}, {@code theatres}, ...).
+ * {@code updated} rows had an id that already existed or appeared earlier in the
+ * document; {@code skipped} rows were invalid or referenced a missing row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResponse {
+    private Map<String, Long> inserted;
+    private Map<String, Long> updated;
+    private Map<String, Long> skipped;
+    private Long durationMs;
+}
@@ -0,0 +1,17 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapResponse {
+    private Long showId;
+    private Integer capacity;
+    private Integer seatsPerRow;
+    private Integer seatsAvailable;
+    // Base64 of the packed bitset: seat i is bit (i % 8) of byte (i / 8), set = taken
+    private String taken;
+}
@@ -0,0 +1,18 @@
+package com.example.bookyourshow.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowBatchRequest {
+    
+    @NotEmpty(message = "At least one show is required")
+    private List<@Valid ShowRequest> shows;
+}
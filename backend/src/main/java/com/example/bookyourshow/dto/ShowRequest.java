@@ -39,5 +39,8 @@ public class ShowRequest {
     private String language;
     
     private String screen;
+    
+    @Positive(message = "Seats per row must be positive")
+    private Integer seatsPerRow;
 }
 
@@ -0,0 +1,23 @@
+package com.example.bookyourshow.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequest {
+    
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    
+    @NotNull(message = "Show ID is required")
+    private Long showId;
+    
+    @NotNull(message = "Number of seats is required")
+    @Positive(message = "Seats must be positive")
+    private Integer seats;
+}
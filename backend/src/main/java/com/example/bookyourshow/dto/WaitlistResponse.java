@@ -0,0 +1,22 @@
+package com.example.bookyourshow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistResponse {
+    private Long id;
+    private Long userId;
+    private Long showId;
+    private Integer seats;
+    private String status;
+    // 1-based place in the show's queue while WAITING, otherwise null
+    private Integer position;
+    private Long bookingId;
+    private LocalDateTime createdAt;
+}
@@ -11,14 +11,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = @Index(name = "idx_bookings_user_id", columnList = "user_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bookings")
+    @TableGenerator(name = "bookings", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "bookings",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +39,9 @@ public class Booking {
     @Column(nullable = false)
     private Integer seats;
     
+    @Column(name = "seat_numbers", columnDefinition = "TEXT")
+    private String seatNumbers;
+    
     @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice;
     
@@ -46,6 +52,9 @@ public class Booking {
     @Column(name = "booking_time")
     private LocalDateTime bookingTime;
     
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    
     @PrePersist
     protected void onCreate() {
         if (bookingTime == null) {
@@ -57,7 +66,7 @@ public class Booking {
     }
     
     public enum BookingStatus {
-        CONFIRMED, CANCELLED
+        HELD, CONFIRMED, CANCELLED
     }
 }
 
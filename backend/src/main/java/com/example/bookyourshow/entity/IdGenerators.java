@@ -0,0 +1,21 @@
+package com.example.bookyourshow.entity;
+
+/**
+ * Settings shared by the pooled table generators behind every entity id.
+ * <p>
+ * {@link #TABLE} holds one row per entity with the last id reserved (JPA
+ * table generator semantics, pooled-lo optimizer). Each application instance
+ * reserves {@link #ALLOCATION_SIZE} ids per round trip, so ids are known
+ * before the insert and Hibernate can send inserts as JDBC batches, which
+ * {@code IDENTITY} columns prevent.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 100;
+
+    private IdGenerators() {
+    }
+}
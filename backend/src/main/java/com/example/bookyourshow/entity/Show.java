@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,14 +16,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "shows")
+// Seat columns change through native updates (ShowSeatUpdates), which evict the cached copy on commit
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shows")
+@Table(name = "shows", indexes = @Index(name = "idx_shows_theatre_id", columnList = "theatre_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Show {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "shows")
+    @TableGenerator(name = "shows", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "shows",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Movie title is required")
@@ -48,6 +56,22 @@ public class Show {
     
     private String screen;
     
+    @Column(name = "seat_capacity")
+    private Integer seatCapacity;
+    
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+    
+    // Written through ShowRepository.updateSeatMap so entity saves never overwrite newer claims
+    @Lob
+    @Column(name = "seat_map", updatable = false)
+    private byte[] seatMap;
+    
+    // Guards admin edits; booking seat counts use conditional updates and do not bump it
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "show", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Booking> bookings = new ArrayList<>();
 }
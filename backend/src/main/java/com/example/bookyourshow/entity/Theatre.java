@@ -6,19 +6,27 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "theatres")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "theatres")
+@Table(name = "theatres", indexes = @Index(name = "idx_theatres_city_key", columnList = "city_key, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Theatre {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "theatres")
+    @TableGenerator(name = "theatres", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "theatres",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Theatre name is required")
@@ -31,10 +39,24 @@ public class Theatre {
     
     private String address;
     
+    // Normalized copy of city for case-insensitive, indexed lookups; kept in sync on save
+    @Column(name = "city_key")
+    private String cityKey;
+    
     @Column(name = "total_seats")
     private Integer totalSeats = 0;
     
     @OneToMany(mappedBy = "theatre", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Show> shows = new ArrayList<>();
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        cityKey = cityKey(city);
+    }
+    
+    public static String cityKey(String city) {
+        return city == null ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
 }
 
@@ -0,0 +1,57 @@
+package com.example.bookyourshow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", indexes = @Index(name = "idx_waitlist_status_show", columnList = "status, show_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "waitlist_entries")
+    @TableGenerator(name = "waitlist_entries", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "waitlist_entries",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "show_id", nullable = false)
+    private Long showId;
+    
+    @Column(nullable = false)
+    private Integer seats;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+    
+    @Column(name = "booking_id")
+    private Long bookingId;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = WaitlistStatus.WAITING;
+        }
+    }
+    
+    // ALLOCATING: claimed by the drain, whose booking may or may not have committed yet
+    public enum WaitlistStatus {
+        WAITING, ALLOCATING, ALLOCATED, CANCELLED
+    }
+}
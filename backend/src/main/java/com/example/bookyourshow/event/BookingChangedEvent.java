@@ -0,0 +1,20 @@
+package com.example.bookyourshow.event;
+
+import com.example.bookyourshow.dto.BookingResponse;
+
+/**
+ * Published when a booking is created or changes state, with the booking as it is
+ * after the change. Published after the commit, or inside the transaction when
+ * the change is made in one.
+ */
+public record BookingChangedEvent(Change change, BookingResponse booking) {
+
+    public enum Change {
+        BOOKED,
+        HELD,
+        CONFIRMED,
+        CANCELLED,
+        UPDATED,
+        EXPIRED
+    }
+}
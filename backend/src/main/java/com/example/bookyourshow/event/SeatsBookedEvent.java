@@ -0,0 +1,7 @@
+package com.example.bookyourshow.event;
+
+/**
+ * Published when {@code seats} booked or held seats of a show have been committed.
+ */
+public record SeatsBookedEvent(Long showId, int seats) {
+}
@@ -0,0 +1,7 @@
+package com.example.bookyourshow.event;
+
+/**
+ * Published when seats of a show become available again, after the change is committed.
+ */
+public record SeatsReleasedEvent(Long showId) {
+}
@@ -0,0 +1,10 @@
+package com.example.bookyourshow.event;
+
+import com.example.bookyourshow.dto.ShowResponse;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a show.
+ * {@code before} is null for a new show and {@code after} is null for a deleted one.
+ */
+public record ShowChangedEvent(Long showId, ShowResponse before, ShowResponse after) {
+}
@@ -0,0 +1,7 @@
+package com.example.bookyourshow.event;
+
+/**
+ * Published inside the transaction that creates or changes a theatre.
+ */
+public record TheatreChangedEvent(Long theatreId) {
+}
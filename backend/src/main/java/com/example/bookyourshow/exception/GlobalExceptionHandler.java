@@ -1,6 +1,10 @@
 package com.example.bookyourshow.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,8 +18,38 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
+    // Set explicitly so errors still render for clients accepting only text/event-stream
+    private static final HttpHeaders JSON = new HttpHeaders();
+    
+    static {
+        JSON.setContentType(MediaType.APPLICATION_JSON);
+    }
+    
+    // Counted as api.errors by outcome; conflicts are mostly sold-out shows
+    private final Counter notFound;
+    private final Counter badRequest;
+    private final Counter conflict;
+    private final Counter invalid;
+    private final Counter internal;
+    
+    public GlobalExceptionHandler(MeterRegistry registry) {
+        notFound = errors(registry, "not_found");
+        badRequest = errors(registry, "bad_request");
+        conflict = errors(registry, "conflict");
+        invalid = errors(registry, "validation");
+        internal = errors(registry, "internal");
+    }
+    
+    private static Counter errors(MeterRegistry registry, String outcome) {
+        return Counter.builder("api.errors")
+            .description("Requests answered with an error, by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        notFound.increment();
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.NOT_FOUND.value(),
@@ -23,11 +57,12 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             null
         );
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(error, JSON, HttpStatus.NOT_FOUND);
     }
     
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
+        badRequest.increment();
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.BAD_REQUEST.value(),
@@ -35,11 +70,12 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             null
         );
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(error, JSON, HttpStatus.BAD_REQUEST);
     }
     
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        conflict.increment();
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.CONFLICT.value(),
@@ -47,11 +83,12 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             null
         );
-        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        return new ResponseEntity<>(error, JSON, HttpStatus.CONFLICT);
     }
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        invalid.increment();
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -66,11 +103,12 @@ public class GlobalExceptionHandler {
             "Invalid input data",
             errors
         );
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(error, JSON, HttpStatus.BAD_REQUEST);
     }
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        internal.increment();
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -78,7 +116,7 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             null
         );
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(error, JSON, HttpStatus.INTERNAL_SERVER_ERROR);
     }
     
     public static class ErrorResponse {
@@ -0,0 +1,274 @@
+package com.example.bookyourshow.journal;
+
+import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.event.BookingChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of booking changes, for analytics, audit and replay.
+ * <p>
+ * Every committed {@link BookingChangedEvent} is appended as a compact binary record
+ * (see {@link JournalFormat}) to a memory-mapped segment file under
+ * {@code app.journal.dir}; a new segment is started when the current one has no room
+ * left of its {@code app.journal.segment-bytes}. Appending copies the record into the
+ * mapping under a lock, so it runs no query and no system call on the booking path.
+ * Records reach the disk in groups: a flusher thread forces what was appended every
+ * {@code app.journal.flush-interval-ms}; with 0 every append is forced before it returns.
+ * <p>
+ * Records are read back with a {@link JournalReader} from {@link #reader(long)}, which
+ * replays from an offset and then tails new records. At startup the writer continues
+ * after the last valid record of the newest segment, dropping a record torn by a crash
+ * and everything written after it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BookingJournal {
+
+    private static final int MIN_SEGMENT_BYTES = 1 << 20;
+    private static final int MAX_RECORD_BYTES = JournalFormat.RECORD_HEADER + JournalFormat.FIXED_BODY
+            + JournalFormat.MAX_SEAT_NUMBERS;
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final long flushIntervalMillis;
+    private final Counter appended;
+    private final Counter failed;
+    private final Timer flushes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_RECORD_BYTES);
+    private MappedByteBuffer segment;
+    private int position;
+    private int flushedPosition;
+    private volatile long endOffset;
+    private ScheduledExecutorService flusher;
+
+    public BookingJournal(MeterRegistry registry,
+                          @Value("${app.journal.dir:journal}") Path dir,
+                          @Value("${app.journal.segment-bytes:67108864}") int segmentBytes,
+                          @Value("${app.journal.flush-interval-ms:100}") long flushIntervalMillis) {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("app.journal.segment-bytes must be at least " + MIN_SEGMENT_BYTES);
+        }
+        this.dir = dir.toAbsolutePath();
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.appended = Counter.builder("bookings.journal.records")
+                .description("Booking changes appended to the journal")
+                .register(registry);
+        this.failed = Counter.builder("bookings.journal.errors")
+                .description("Booking changes that could not be journaled")
+                .register(registry);
+        this.flushes = Timer.builder("bookings.journal.flushes")
+                .description("Time to force appended journal records to disk")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(dir);
+        long[] segments = JournalFormat.segments(dir);
+        if (segments.length == 0) {
+            openSegment(0);
+        } else {
+            recover(segments[segments.length - 1]);
+        }
+        log.info("Booking journal at {}, continuing from offset {}", dir, endOffset);
+        if (flushIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "journal-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    // After the commit, so rolled-back changes are never journaled
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        try {
+            append(event);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to journal {} of booking {}", event.change(), event.booking().getId(), e);
+        }
+    }
+
+    /**
+     * Appends a change and returns the offset of its record.
+     */
+    public long append(BookingChangedEvent event) {
+        BookingResponse booking = event.booking();
+        byte[] seatNumbers = JournalFormat.seatNumbers(booking.getSeatsSelected());
+        long totalCents = Math.round(booking.getTotalPrice() * 100);
+        lock.lock();
+        try {
+            int size = JournalFormat.encode(scratch, System.currentTimeMillis(), event.change(), booking.getId(),
+                    booking.getUserId(), booking.getShowId(), booking.getSeats(), totalCents, seatNumbers);
+            if (position + size > segment.capacity()) {
+                roll();
+            }
+            long offset = endOffset;
+            // The length goes in last, so a reader never sees a record before all of it is written
+            segment.put(position + 4, scratch, 4, size - 4);
+            segment.putInt(position, scratch.getInt(0));
+            position += size;
+            endOffset = offset + size;
+            if (flushIntervalMillis <= 0) {
+                force(segment, flushedPosition, position);
+                flushedPosition = position;
+            }
+            appended.increment();
+            return offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Offset just past the last appended record, where {@link #tail()} starts.
+     */
+    public long endOffset() {
+        return endOffset;
+    }
+
+    /**
+     * A reader starting at {@code offset}; 0 replays the whole journal.
+     */
+    public JournalReader reader(long offset) {
+        return new JournalReader(dir, offset, this::endOffset);
+    }
+
+    /**
+     * A reader that only sees changes appended from now on.
+     */
+    public JournalReader tail() {
+        return reader(endOffset);
+    }
+
+    /**
+     * Up to {@code limit} records from offset {@code after}; the next cursor is the
+     * offset to continue from, or null once the page reaches the end of the journal.
+     */
+    public CursorPage<JournalRecord> read(long after, int limit) {
+        JournalReader reader = reader(after);
+        List<JournalRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        JournalRecord record;
+        while (records.size() < limit && (record = reader.poll()) != null) {
+            records.add(record);
+        }
+        Long next = reader.offset() < endOffset ? reader.offset() : null;
+        return new CursorPage<>(records, next);
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     */
+    public void flush() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        lock.lock();
+        try {
+            target = segment;
+            from = flushedPosition;
+            to = position;
+            flushedPosition = position;
+        } finally {
+            lock.unlock();
+        }
+        // Outside the lock, so appends go on while the disk catches up
+        force(target, from, to);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush the booking journal", e);
+        }
+    }
+
+    private void force(MappedByteBuffer target, int from, int to) {
+        if (to > from) {
+            flushes.record(() -> target.force(from, to - from));
+        }
+    }
+
+    private void roll() {
+        force(segment, flushedPosition, position);
+        openSegment(endOffset);
+    }
+
+    private void openSegment(long baseOffset) {
+        segment = map(JournalFormat.segmentPath(dir, baseOffset), segmentBytes);
+        JournalFormat.writeHeader(segment, baseOffset);
+        segment.force(0, JournalFormat.SEGMENT_HEADER);
+        position = JournalFormat.SEGMENT_HEADER;
+        flushedPosition = position;
+        endOffset = baseOffset;
+    }
+
+    private void recover(long baseOffset) throws IOException {
+        Path file = JournalFormat.segmentPath(dir, baseOffset);
+        MappedByteBuffer mapped = map(file, (int) Files.size(file));
+        JournalFormat.checkHeader(mapped, file);
+        int end = JournalFormat.validEnd(mapped);
+        // A group flush can leave intact records behind a torn one, so the whole remainder goes
+        int dirtyEnd = JournalFormat.clearFrom(mapped, end);
+        if (dirtyEnd > end) {
+            mapped.force(end, dirtyEnd - end);
+            log.warn("Dropped {} bytes after the last valid record of journal segment {}", dirtyEnd - end, file);
+        }
+        segment = mapped;
+        position = end;
+        flushedPosition = end;
+        endOffset = baseOffset + end - JournalFormat.SEGMENT_HEADER;
+    }
+
+    private static MappedByteBuffer map(Path file, int size) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment " + file, e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.bookyourshow.journal;
+
+import com.example.bookyourshow.event.BookingChangedEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of the journal files.
+ * <p>
+ * The journal is a sequence of segment files, each named after the offset of its
+ * first record, zero-padded so names sort in offset order. A segment starts with a
+ * {@value #SEGMENT_HEADER}-byte header (magic, format version, base offset) followed
+ * by records back to back:
+ * <pre>
+ *   int   body length
+ *   int   CRC32C of the body
+ *   byte  change (ordinal of {@link BookingChangedEvent.Change})
+ *   long  timestamp, epoch millis
+ *   long  booking id
+ *   long  user id
+ *   long  show id
+ *   int   seats
+ *   long  total price, in cents
+ *   short seat numbers length
+ *   bytes seat numbers, comma-separated UTF-8
+ * </pre>
+ * The length is written last, so a zero length marks the end of the written part of
+ * a segment and a torn record fails its checksum. Offsets are positions in the
+ * concatenated records of all segments; the unused tail of a rolled segment is not
+ * counted, so the next segment's base offset is the end of the last record before it.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x42594a52;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER = 16;
+    static final int RECORD_HEADER = 8;
+    static final int FIXED_BODY = 1 + 8 + 8 + 8 + 8 + 4 + 8 + 2;
+    static final int MAX_SEAT_NUMBERS = 0xffff;
+
+    private static final String SUFFIX = ".journal";
+    private static final BookingChangedEvent.Change[] CHANGES = BookingChangedEvent.Change.values();
+
+    private JournalFormat() {
+    }
+
+    static Path segmentPath(Path dir, long baseOffset) {
+        return dir.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+
+    /**
+     * Base offsets of the segments in {@code dir}, ascending.
+     */
+    static long[] segments(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return new long[0];
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .mapToLong(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal segments in " + dir, e);
+        }
+    }
+
+    /**
+     * Base offset of the segment holding {@code offset}: the last one starting at or
+     * before it, or the first one if the offset is older than every segment.
+     */
+    static long segmentFor(long[] segments, long offset) {
+        int i = Arrays.binarySearch(segments, offset);
+        if (i >= 0) {
+            return segments[i];
+        }
+        int insertion = -i - 1;
+        return insertion == 0 ? segments[0] : segments[insertion - 1];
+    }
+
+    static void writeHeader(ByteBuffer segment, long baseOffset) {
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+        segment.putLong(8, baseOffset);
+    }
+
+    static void checkHeader(ByteBuffer segment, Path file) {
+        if (segment.capacity() < SEGMENT_HEADER || segment.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a booking journal segment: " + file);
+        }
+        if (segment.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported journal version " + segment.getInt(4) + " in " + file);
+        }
+    }
+
+    /**
+     * Encodes a record, header included, into {@code buffer} from position 0 and
+     * returns its size. The buffer must hold {@link #recordSize(byte[])} bytes.
+     */
+    static int encode(ByteBuffer buffer, long timestamp, BookingChangedEvent.Change change, long bookingId,
+                      long userId, long showId, int seats, long totalCents, byte[] seatNumbers) {
+        int length = FIXED_BODY + seatNumbers.length;
+        buffer.clear();
+        buffer.putInt(0)
+                .putInt(0)
+                .put((byte) change.ordinal())
+                .putLong(timestamp)
+                .putLong(bookingId)
+                .putLong(userId)
+                .putLong(showId)
+                .putInt(seats)
+                .putLong(totalCents)
+                .putShort((short) seatNumbers.length)
+                .put(seatNumbers);
+        buffer.putInt(0, length);
+        buffer.putInt(4, checksum(buffer, RECORD_HEADER, length));
+        return RECORD_HEADER + length;
+    }
+
+    static int recordSize(byte[] seatNumbers) {
+        return RECORD_HEADER + FIXED_BODY + seatNumbers.length;
+    }
+
+    /**
+     * Size of the valid record at {@code position} in a segment, or 0 if there is
+     * none: nothing written yet, or a record that was torn by a crash.
+     */
+    static int validRecordSize(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER > segment.capacity()) {
+            return 0;
+        }
+        int length = segment.getInt(position);
+        if (length < FIXED_BODY || length > FIXED_BODY + MAX_SEAT_NUMBERS
+                || position + RECORD_HEADER + length > segment.capacity()) {
+            return 0;
+        }
+        if (checksum(segment, position + RECORD_HEADER, length) != segment.getInt(position + 4)) {
+            return 0;
+        }
+        return RECORD_HEADER + length;
+    }
+
+    /**
+     * End of the valid records of a segment: the position after the last record that
+     * follows the header without a gap.
+     */
+    static int validEnd(ByteBuffer segment) {
+        int end = SEGMENT_HEADER;
+        int size;
+        while ((size = validRecordSize(segment, end)) > 0) {
+            end += size;
+        }
+        return end;
+    }
+
+    /**
+     * Zeroes the segment from {@code from} to its end, so nothing written there before a
+     * crash is read again once appends close the gap. With group flushes that can be
+     * several intact records behind a torn one. Only non-zero bytes are written, so clean
+     * pages stay clean. Returns the end of the cleared range, {@code from} if it was clean.
+     */
+    static int clearFrom(ByteBuffer segment, int from) {
+        int dirtyEnd = from;
+        int i = from;
+        int longs = from + (segment.capacity() - from) / Long.BYTES * Long.BYTES;
+        for (; i < longs; i += Long.BYTES) {
+            if (segment.getLong(i) != 0) {
+                segment.putLong(i, 0);
+                dirtyEnd = i + Long.BYTES;
+            }
+        }
+        for (; i < segment.capacity(); i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+                dirtyEnd = i + 1;
+            }
+        }
+        return dirtyEnd;
+    }
+
+    /**
+     * Decodes the record at {@code position}, or returns null if there is no valid one.
+     */
+    static JournalRecord decode(ByteBuffer segment, int position, long offset) {
+        int size = validRecordSize(segment, position);
+        if (size == 0) {
+            return null;
+        }
+        int at = position + RECORD_HEADER;
+        BookingChangedEvent.Change change = CHANGES[segment.get(at)];
+        long timestamp = segment.getLong(at + 1);
+        long bookingId = segment.getLong(at + 9);
+        long userId = segment.getLong(at + 17);
+        long showId = segment.getLong(at + 25);
+        int seats = segment.getInt(at + 33);
+        long totalCents = segment.getLong(at + 37);
+        byte[] seatNumbers = new byte[Short.toUnsignedInt(segment.getShort(at + 45))];
+        segment.get(at + FIXED_BODY, seatNumbers);
+        return new JournalRecord(offset, offset + size, timestamp, change, bookingId, userId, showId, seats,
+                BigDecimal.valueOf(totalCents, 2), parseSeatNumbers(seatNumbers));
+    }
+
+    static byte[] seatNumbers(List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            return new byte[0];
+        }
+        byte[] bytes = String.join(",", seatNumbers).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_SEAT_NUMBERS) {
+            throw new IllegalArgumentException("Seat numbers exceed " + MAX_SEAT_NUMBERS + " bytes");
+        }
+        return bytes;
+    }
+
+    private static List<String> parseSeatNumbers(byte[] bytes) {
+        if (bytes.length == 0) {
+            return List.of();
+        }
+        return List.of(new String(bytes, StandardCharsets.UTF_8).split(","));
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, length));
+        return (int) crc.getValue();
+    }
+}
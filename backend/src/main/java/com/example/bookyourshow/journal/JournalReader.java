@@ -0,0 +1,123 @@
+package com.example.bookyourshow.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Reads the journal forward from an offset, one record at a time, through its own
+ * read-only mappings of the segment files. {@link #poll()} returns null at the end
+ * of what has been written and picks up later records on the next call, so the same
+ * reader replays history and then tails new changes.
+ * <p>
+ * Offsets should be 0, a record's {@code offset} or {@code nextOffset}, or
+ * {@link BookingJournal#endOffset()}; an offset in the middle of a record reads as
+ * the end of the journal. Not thread-safe.
+ */
+public class JournalReader {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path dir;
+    private final LongSupplier endOffset;
+    private long offset;
+    private long segmentBase = -1;
+    private MappedByteBuffer segment;
+
+    JournalReader(Path dir, long offset, LongSupplier endOffset) {
+        this.dir = dir;
+        this.offset = offset;
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Reads a journal directory without a running writer, such as a copy taken for
+     * analysis. Records are taken as written once their checksum matches.
+     */
+    public static JournalReader open(Path dir, long offset) {
+        return new JournalReader(dir, offset, () -> Long.MAX_VALUE);
+    }
+
+    /**
+     * Offset of the next record this reader returns.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * The next record, or null if none has been written yet.
+     */
+    public JournalRecord poll() {
+        if (offset >= endOffset.getAsLong()) {
+            return null;
+        }
+        if (segment == null && !openSegment(false)) {
+            return null;
+        }
+        JournalRecord record = JournalFormat.decode(segment, position(), offset);
+        if (record == null && openSegment(true)) {
+            // The writer rolled to a new segment starting here
+            record = JournalFormat.decode(segment, position(), offset);
+        }
+        if (record != null) {
+            offset = record.nextOffset();
+        }
+        return record;
+    }
+
+    /**
+     * The next record, waiting up to {@code timeout} for one to be written; null if
+     * none was.
+     */
+    public JournalRecord poll(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        JournalRecord record = poll();
+        while (record == null && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+            record = poll();
+        }
+        return record;
+    }
+
+    private int position() {
+        long position = JournalFormat.SEGMENT_HEADER + offset - segmentBase;
+        return position > segment.capacity() ? segment.capacity() : (int) position;
+    }
+
+    /**
+     * Maps the segment holding the current offset; with {@code next}, only one that
+     * starts exactly at it. Returns whether a segment other than the current one was mapped.
+     */
+    private boolean openSegment(boolean next) {
+        long[] segments = JournalFormat.segments(dir);
+        if (segments.length == 0) {
+            return false;
+        }
+        long base = JournalFormat.segmentFor(segments, offset);
+        if (base == segmentBase || (next && base != offset)) {
+            return false;
+        }
+        if (offset < base) {
+            // Older than the oldest segment; start from its first record
+            offset = base;
+        }
+        Path file = JournalFormat.segmentPath(dir, base);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            JournalFormat.checkHeader(mapped, file);
+            segment = mapped;
+            segmentBase = base;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment " + file, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.bookyourshow.journal;
+
+import com.example.bookyourshow.event.BookingChangedEvent;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One booking change read back from the {@link BookingJournal}. {@code offset} is
+ * where the record starts and {@code nextOffset} where the one after it starts;
+ * either can be passed to {@link BookingJournal#reader(long)}.
+ */
+public record JournalRecord(long offset,
+                            long nextOffset,
+                            long timestamp,
+                            BookingChangedEvent.Change change,
+                            long bookingId,
+                            long userId,
+                            long showId,
+                            int seats,
+                            BigDecimal totalPrice,
+                            List<String> seatNumbers) {
+}
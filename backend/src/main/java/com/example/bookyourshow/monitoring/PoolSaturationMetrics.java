@@ -0,0 +1,42 @@
+package com.example.bookyourshow.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+
+/**
+ * {@code datasource.pool.saturation}: the share of a Hikari pool in use or waited
+ * for, {@code (active + pending) / max}, per pool. Above 1 requests queue for
+ * connections; {@code hikaricp.connections.*} has the raw numbers.
+ */
+public class PoolSaturationMetrics implements MeterBinder {
+
+    private final Collection<HikariDataSource> pools;
+
+    public PoolSaturationMetrics(Collection<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (HikariDataSource pool : pools) {
+            Gauge.builder("datasource.pool.saturation", pool, PoolSaturationMetrics::saturation)
+                    .tag("pool", String.valueOf(pool.getPoolName()))
+                    .description("(active + pending) / max connections of the pool")
+                    .register(registry);
+        }
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null) {
+            // Not started yet
+            return Double.NaN;
+        }
+        return (bean.getActiveConnections() + bean.getThreadsAwaitingConnection()) / (double) pool.getMaximumPoolSize();
+    }
+}
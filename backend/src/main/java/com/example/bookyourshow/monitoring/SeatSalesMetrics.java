@@ -0,0 +1,94 @@
+package com.example.bookyourshow.monitoring;
+
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seats sold (booked or held, once committed): the total as the counter
+ * {@code bookings.seats.sold} and the per-show rate as the gauge
+ * {@code bookings.seats.sold.rate}, in seats per second over the last
+ * {@code app.metrics.seat-rate-window-ms}.
+ * <p>
+ * A sale only adds to the show's {@link LongAdder}; rates are computed once
+ * per window. A show's gauge is registered on its first sale and removed
+ * after {@code app.metrics.seat-rate-idle-windows} windows without sales, so
+ * only shows that are selling are exported.
+ */
+@Component
+public class SeatSalesMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter sold;
+    private final double windowSeconds;
+    private final int idleWindows;
+    private final Map<Long, ShowRate> rates = new ConcurrentHashMap<>();
+
+    public SeatSalesMetrics(MeterRegistry registry,
+                            @Value("${app.metrics.seat-rate-window-ms:10000}") long windowMillis,
+                            @Value("${app.metrics.seat-rate-idle-windows:6}") int idleWindows) {
+        this.registry = registry;
+        this.sold = Counter.builder("bookings.seats.sold")
+                .description("Seats booked or held")
+                .register(registry);
+        this.windowSeconds = windowMillis / 1000.0;
+        this.idleWindows = idleWindows;
+    }
+
+    @EventListener
+    public void onSeatsBooked(SeatsBookedEvent event) {
+        sold.increment(event.seats());
+        ShowRate rate = rates.get(event.showId());
+        if (rate == null) {
+            rate = rates.computeIfAbsent(event.showId(), this::register);
+        }
+        rate.seats.add(event.seats());
+    }
+
+    @Scheduled(fixedRateString = "${app.metrics.seat-rate-window-ms:10000}",
+               initialDelayString = "${app.metrics.seat-rate-window-ms:10000}")
+    public void roll() {
+        for (ShowRate rate : rates.values()) {
+            long seats = rate.seats.sumThenReset();
+            rate.perSecond = seats / windowSeconds;
+            rate.idle = seats == 0 ? rate.idle + 1 : 0;
+            if (rate.idle >= idleWindows) {
+                // Under the entry's lock, so a new sale cannot register the show again halfway
+                rates.computeIfPresent(rate.showId, (id, current) -> {
+                    registry.remove(current.gauge);
+                    return null;
+                });
+            }
+        }
+    }
+
+    private ShowRate register(Long showId) {
+        ShowRate rate = new ShowRate(showId);
+        rate.gauge = Gauge.builder("bookings.seats.sold.rate", rate, r -> r.perSecond)
+                .description("Seats sold per second over the last window")
+                .tag("show", showId.toString())
+                .register(registry);
+        return rate;
+    }
+
+    private static final class ShowRate {
+        private final Long showId;
+        private final LongAdder seats = new LongAdder();
+        private volatile double perSecond;
+        private int idle;
+        private Gauge gauge;
+
+        private ShowRate(Long showId) {
+            this.showId = showId;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bookyourshow.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call through a service proxy as {@code service.calls}, tagged with
+ * the service class, the method and {@code outcome} ({@code success} or
+ * {@code error}).
+ * <p>
+ * Timers are looked up once per method and kept in a map keyed by the
+ * {@link Method}, so a call costs a map read and two {@code nanoTime} reads;
+ * nothing is allocated per call, unlike {@code @Timed}, which builds tags and a
+ * sample on every invocation. The registry is resolved on the first call, since
+ * advisors are created before the registry has been configured.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Map<Method, Timers> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Timers timers = this.timers.get(method);
+        if (timers == null) {
+            Class<?> target = AopUtils.getTargetClass(invocation.getThis());
+            timers = this.timers.computeIfAbsent(method, m -> new Timers(registry.getObject(), target, m));
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            (failed ? timers.error() : timers.success).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, Class<?> target, Method method, String outcome) {
+        return Timer.builder("service.calls")
+                .description("Service method latency")
+                .tag("class", target.getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * The timers of one method. The error timer is registered on the first
+     * failure, so methods that never fail export no error series.
+     */
+    private static final class Timers {
+        private final MeterRegistry registry;
+        private final Class<?> target;
+        private final Method method;
+        private final Timer success;
+        private volatile Timer error;
+
+        private Timers(MeterRegistry registry, Class<?> target, Method method) {
+            this.registry = registry;
+            this.target = target;
+            this.method = method;
+            this.success = timer(registry, target, method, "success");
+        }
+
+        Timer error() {
+            Timer timer = error;
+            if (timer == null) {
+                // Registering twice returns the same timer
+                timer = timer(registry, target, method, "error");
+                error = timer;
+            }
+            return timer;
+        }
+    }
+}
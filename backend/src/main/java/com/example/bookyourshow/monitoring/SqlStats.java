@@ -0,0 +1,109 @@
+package com.example.bookyourshow.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL statements, rows and JDBC time of the current HTTP request.
+ * <p>
+ * Bound to the request thread by {@link SqlStatsFilter} and fed by
+ * {@link InstrumentedDataSource}; work on other threads (scheduled jobs,
+ * streamed exports) is not attributed to any request. Executions are also
+ * counted per SQL string: when the same query runs {@code nPlusOneThreshold}
+ * times in one request, the application frame that issued it is recorded as a
+ * suspected N+1.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    private static final String APP_PACKAGE = "com.example.bookyourshow.";
+    private static final String OWN_PACKAGE = SqlStats.class.getPackageName() + ".";
+
+    private final int nPlusOneThreshold;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private final List<Repeated> repeated = new ArrayList<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStats(int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**
+     * A query that ran at least the N+1 threshold times; {@code site} is the first application frame.
+     */
+    public record Repeated(String sql, String site, int count) {
+    }
+
+    static SqlStats begin(int nPlusOneThreshold) {
+        SqlStats stats = new SqlStats(nPlusOneThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    void executed(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql == null || !sql.regionMatches(true, 0, "select", 0, 6)) {
+            return;
+        }
+        int count = executions.merge(sql, 1, Integer::sum);
+        if (count == nPlusOneThreshold) {
+            // Walk the stack only once per query, when it first crosses the threshold
+            repeated.add(new Repeated(sql, callSite(), count));
+        }
+    }
+
+    void rows(long count) {
+        if (count > 0) {
+            rows += count;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Suspected N+1 queries with their final execution counts.
+     */
+    public List<Repeated> getRepeated() {
+        return repeated.stream()
+                .map(r -> new Repeated(r.sql(), r.site(), executions.get(r.sql())))
+                .toList();
+    }
+
+    private static String callSite() {
+        Optional<StackWalker.StackFrame> frame = StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE)
+                        && !f.getClassName().startsWith(OWN_PACKAGE)
+                        && !f.getClassName().contains("$$"))
+                .findFirst());
+        return frame.map(f -> simpleName(f.getClassName()) + "." + f.getMethodName()
+                + "(" + f.getFileName() + ":" + f.getLineNumber() + ")").orElse("unknown");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
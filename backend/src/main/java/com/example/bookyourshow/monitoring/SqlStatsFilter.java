@@ -0,0 +1,160 @@
+package com.example.bookyourshow.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL issued by each request (see {@link SqlStats}).
+ * <p>
+ * Totals are recorded per endpoint as {@code sql.statements}, {@code sql.rows}
+ * and {@code sql.time}, and suspected N+1 queries are logged and counted as
+ * {@code sql.n-plus-one} with the endpoint and call site. With
+ * {@code app.sql-stats.headers=true} (the {@code dev} profile) the totals are
+ * also sent as {@code X-SQL-Statements}, {@code X-SQL-Rows} and
+ * {@code X-SQL-Time-Ms}; those reflect the statements run before the response
+ * body started.
+ */
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final boolean headers;
+    private final int nPlusOneThreshold;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatsFilter(MeterRegistry registry, boolean headers, int nPlusOneThreshold) {
+        this.registry = registry;
+        this.headers = headers;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.begin(nPlusOneThreshold);
+        HttpServletResponse target = headers ? new HeaderWriter(response, stats) : response;
+        try {
+            chain.doFilter(request, target);
+            if (target instanceof HeaderWriter writer) {
+                writer.writeHeaders();
+            }
+        } finally {
+            SqlStats.end();
+            if (stats.getStatements() > 0) {
+                record(endpoint(request), stats);
+            }
+        }
+    }
+
+    private void record(String endpoint, SqlStats stats) {
+        Meters m = meters.computeIfAbsent(endpoint, this::meters);
+        m.statements.record(stats.getStatements());
+        m.rows.record(stats.getRows());
+        m.time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        for (SqlStats.Repeated repeated : stats.getRepeated()) {
+            log.warn("Possible N+1 on {}: {} executions from {} of: {}",
+                    endpoint, repeated.count(), repeated.site(), repeated.sql());
+            Counter.builder("sql.n-plus-one")
+                    .description("Requests that ran one query at least the N+1 threshold times")
+                    .tag("endpoint", endpoint)
+                    .tag("site", repeated.site())
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private Meters meters(String endpoint) {
+        return new Meters(
+                DistributionSummary.builder("sql.statements").description("SQL statements per request")
+                        .tag("endpoint", endpoint).register(registry),
+                DistributionSummary.builder("sql.rows").description("Rows read or changed per request")
+                        .tag("endpoint", endpoint).register(registry),
+                Timer.builder("sql.time").description("JDBC execution time per request")
+                        .tag("endpoint", endpoint).register(registry));
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary rows, Timer time) {
+    }
+
+    /**
+     * Adds the totals right before the response is committed.
+     */
+    private static final class HeaderWriter extends HttpServletResponseWrapper {
+        private final SqlStats stats;
+        private boolean written;
+
+        private HeaderWriter(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+            setHeader("X-SQL-Rows", String.valueOf(stats.getRows()));
+            setHeader("X-SQL-Time-Ms", String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
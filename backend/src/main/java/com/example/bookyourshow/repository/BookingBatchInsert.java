@@ -0,0 +1,12 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.Booking;
+
+import java.util.List;
+
+public interface BookingBatchInsert {
+    /**
+     * Inserts new bookings as one JDBC batch, with ids reserved from their generator in one round trip.
+     */
+    void insertBatch(List<Booking> bookings);
+}
@@ -0,0 +1,59 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingBatchInsertImpl implements BookingBatchInsert {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO bookings (id, user_id, show_id, seats, seat_numbers, total_price, status, booking_time, hold_expires_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdSequences idSequences;
+
+    @Override
+    public void insertBatch(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        // One generator round trip for the whole batch instead of one per allocation block
+        long firstId = idSequences.reserve("bookings", bookings.size());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                long id = firstId;
+                for (Booking booking : bookings) {
+                    if (booking.getBookingTime() == null) {
+                        booking.setBookingTime(LocalDateTime.now());
+                    }
+                    booking.setId(id++);
+                    ps.setLong(1, booking.getId());
+                    ps.setLong(2, booking.getUser().getId());
+                    ps.setLong(3, booking.getShow().getId());
+                    ps.setInt(4, booking.getSeats());
+                    ps.setString(5, booking.getSeatNumbers());
+                    ps.setBigDecimal(6, booking.getTotalPrice());
+                    ps.setString(7, booking.getStatus().name());
+                    ps.setTimestamp(8, Timestamp.valueOf(booking.getBookingTime()));
+                    if (booking.getHoldExpiresAt() != null) {
+                        ps.setTimestamp(9, Timestamp.valueOf(booking.getHoldExpiresAt()));
+                    } else {
+                        ps.setNull(9, Types.TIMESTAMP);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+    }
+}
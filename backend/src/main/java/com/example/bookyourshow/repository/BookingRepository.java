@@ -1,14 +1,87 @@
 package com.example.bookyourshow.repository;
 
 import com.example.bookyourshow.entity.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchInsert {
     List<Booking> findByUserId(Long userId);
     List<Booking> findByShowId(Long showId);
-}
 
+    String VIEW = "select new com.example.bookyourshow.repository.BookingView(b.id, b.user.id, b.show.id, b.seats, " +
+                  "b.totalPrice, b.status, b.bookingTime, b.seatNumbers, b.holdExpiresAt) from Booking b ";
+
+    @Query(VIEW + "where b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW + "where b.user.id = :userId order by b.id")
+    List<BookingView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query(VIEW + "where b.id > :after order by b.id")
+    List<BookingView> findViewsAfter(@Param("after") Long after, Pageable page);
+
+    @Query(VIEW + "where b.user.id = :userId and b.id > :after order by b.id")
+    List<BookingView> findViewsByUserAfter(@Param("userId") Long userId, @Param("after") Long after, Pageable page);
+
+    @Query("select b.id, b.holdExpiresAt from Booking b where b.status = :status")
+    List<Object[]> findExpirationsByStatus(@Param("status") Booking.BookingStatus status);
+
+    default List<Object[]> findHoldExpirations() {
+        return findExpirationsByStatus(Booking.BookingStatus.HELD);
+    }
+
+    @Query("select min(b.id) from Booking b where b.user.id = :userId and b.show.id = :showId and b.bookingTime >= :since")
+    Long findFirstIdSince(@Param("userId") Long userId, @Param("showId") Long showId, @Param("since") LocalDateTime since);
+
+    // Orders an update against a concurrent cancel or hold expiry of the same booking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id in :ids and b.status = :status")
+    List<Booking> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids, @Param("status") Booking.BookingStatus status);
+
+    default List<Booking> findHeldForUpdate(Collection<Long> ids) {
+        return findByIdInAndStatusForUpdate(ids, Booking.BookingStatus.HELD);
+    }
+
+    @Modifying
+    @Query("update Booking b set b.status = :status, b.holdExpiresAt = null where b.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Booking.BookingStatus status);
+
+    default int cancelHolds(Collection<Long> ids) {
+        return updateStatus(ids, Booking.BookingStatus.CANCELLED);
+    }
+
+    // Conditional, so of two concurrent changes to the same status only one updates the row
+    @Modifying
+    @Query("update Booking b set b.status = :status, b.holdExpiresAt = null where b.id = :id and b.status <> :status")
+    int changeStatus(@Param("id") Long id, @Param("status") Booking.BookingStatus status);
+
+    default int cancel(Long id) {
+        return changeStatus(id, Booking.BookingStatus.CANCELLED);
+    }
+
+    @Modifying
+    @Query("update Booking b set b.status = :to, b.holdExpiresAt = null " +
+           "where b.id = :id and b.status = :from and b.holdExpiresAt > :now")
+    int transitionUnexpired(@Param("id") Long id, @Param("from") Booking.BookingStatus from,
+                            @Param("to") Booking.BookingStatus to, @Param("now") LocalDateTime now);
+
+    default int confirmHold(Long id, LocalDateTime now) {
+        return transitionUnexpired(id, Booking.BookingStatus.HELD, Booking.BookingStatus.CONFIRMED, now);
+    }
+}
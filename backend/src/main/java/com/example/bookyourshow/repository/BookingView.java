@@ -0,0 +1,14 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking: the columns of a {@code BookingResponse}, selected without loading the entity.
+ */
+public record BookingView(Long id, Long userId, Long showId, Integer seats, BigDecimal totalPrice,
+                          Booking.BookingStatus status, LocalDateTime bookingTime, String seatNumbers,
+                          LocalDateTime holdExpiresAt) {
+}
@@ -0,0 +1,97 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.dto.ExportFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only JDBC cursors over bookings and shows for the streaming exports.
+ * Rows are handed to the callback one at a time while the result set is read
+ * in chunks of {@code app.exports.fetch-size}; on MySQL this needs
+ * {@code useCursorFetch=true} on the JDBC URL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    private static final String BOOKINGS_SQL =
+        "SELECT b.id, b.user_id, b.show_id, b.seats, b.total_price, b.status, b.booking_time, b.seat_numbers, b.hold_expires_at " +
+        "FROM bookings b JOIN shows s ON s.id = b.show_id";
+
+    private static final String SHOWS_SQL =
+        "SELECT s.id, s.movie_title, s.theatre_id, s.start_time, s.price, s.seats_available, s.language, s.screen " +
+        "FROM shows s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.exports.fetch-size:1000}")
+    private int fetchSize;
+
+    public void forEachBooking(ExportFilter filter, RowCallbackHandler handler) {
+        Query query = new Query(BOOKINGS_SQL);
+        query.range("b.booking_time", filter);
+        query.equal("s.theatre_id", filter.getTheatreId());
+        query.equal("b.status", filter.getStatus());
+        stream(query.orderBy("b.id"), query.params, handler);
+    }
+
+    public void forEachShow(ExportFilter filter, RowCallbackHandler handler) {
+        Query query = new Query(SHOWS_SQL);
+        query.range("s.start_time", filter);
+        query.equal("s.theatre_id", filter.getTheatreId());
+        stream(query.orderBy("s.id"), query.params, handler);
+    }
+
+    private void stream(String sql, List<Object> params, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static final class Query {
+        private final StringBuilder sql;
+        private final List<Object> params = new ArrayList<>();
+
+        private Query(String select) {
+            this.sql = new StringBuilder(select);
+        }
+
+        private void range(String column, ExportFilter filter) {
+            if (filter.getFrom() != null) {
+                where(column + " >= ?", Timestamp.valueOf(filter.getFrom().atStartOfDay()));
+            }
+            if (filter.getTo() != null) {
+                where(column + " < ?", Timestamp.valueOf(filter.getTo().plusDays(1).atStartOfDay()));
+            }
+        }
+
+        private void equal(String column, Object value) {
+            if (value != null) {
+                where(column + " = ?", value);
+            }
+        }
+
+        private void where(String condition, Object param) {
+            sql.append(params.isEmpty() ? " WHERE " : " AND ").append(condition);
+            params.add(param);
+        }
+
+        private String orderBy(String column) {
+            return sql + " ORDER BY " + column;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.IdGenerators;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the id generator rows in {@link IdGenerators#TABLE} ahead of the data.
+ * <p>
+ * Rows inserted with explicit ids (the {@code db.json} seed, rows written while
+ * the tables still used {@code IDENTITY}) do not move the generators, so
+ * {@link #align()} raises each generator to at least the largest id in its table.
+ * {@link #reserve} hands out a block of ids for inserts that bypass Hibernate.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequences {
+
+    // The generator for each table is named after the table
+    private static final List<String> TABLES = List.of("users", "theatres", "shows", "bookings", "waitlist_entries");
+
+    private static final String UPDATE_SQL = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+            + " = ? WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM " + IdGenerators.TABLE
+            + " WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+    private static final String INSERT_SQL = "INSERT INTO " + IdGenerators.TABLE
+            + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private static final String RESERVE_SQL = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+            + " = " + IdGenerators.VALUE_COLUMN + " + ? WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+    private static final String VALUE_SQL = "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+            + " WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public void align() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if (jdbcTemplate.update(UPDATE_SQL, maxId, table, maxId) > 0) {
+                log.info("Moved {} id generator to {}", table, maxId);
+            } else if (jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, table) == 0) {
+                jdbcTemplate.update(INSERT_SQL, table, maxId);
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids from the generator of {@code table}
+     * and returns the first. Like Hibernate's own allocations this commits in
+     * its own transaction, so the generator row is locked only briefly.
+     */
+    public long reserve(String table, int count) {
+        TransactionTemplate allocation = new TransactionTemplate(transactionManager);
+        allocation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long last = allocation.execute(tx -> {
+            if (jdbcTemplate.update(RESERVE_SQL, count, table) == 0) {
+                throw new IllegalStateException("No id generator row for " + table);
+            }
+            return jdbcTemplate.queryForObject(VALUE_SQL, Long.class, table);
+        });
+        return last - count + 1;
+    }
+}
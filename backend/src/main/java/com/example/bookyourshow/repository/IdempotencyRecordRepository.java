@@ -0,0 +1,33 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    // A plain INSERT, so a key claimed concurrently fails on the primary key instead of being merged
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, response_body, created_at) " +
+                   "VALUES (:key, :requestHash, '', :createdAt)", nativeQuery = true)
+    int insertClaim(@Param("key") String key, @Param("requestHash") String requestHash,
+                    @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.responseBody = :responseBody, r.createdAt = :createdAt where r.key = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody,
+                 @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,43 @@
+package com.example.bookyourshow.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps reads on the primary database when read replicas are configured.
+ * <p>
+ * Read-only transactions normally go to a replica, which may lag the primary.
+ * Reads that feed in-memory state (seat counters, seat maps, listings built at
+ * startup) or must see a write that just happened run inside {@link #onPrimary}.
+ * The connection is chosen at the first statement of a transaction, so the call
+ * must come before that statement.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PRIMARY.get() != null) {
+            return work.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookyourshow.repository;
+
+/**
+ * The seat map columns of a show as last committed; see {@link ShowRepository#findSeatColumnsForUpdate}.
+ */
+public record SeatColumns(byte[] seatMap, Integer seatCapacity, Integer seatsPerRow) {
+}
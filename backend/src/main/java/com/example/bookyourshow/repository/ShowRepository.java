@@ -1,14 +1,81 @@
 package com.example.bookyourshow.repository;
 
 import com.example.bookyourshow.entity.Show;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ShowRepository extends JpaRepository<Show, Long> {
+public interface ShowRepository extends JpaRepository<Show, Long>, ShowSeatUpdates {
     List<Show> findByTheatreId(Long theatreId);
     List<Show> findByMovieTitleContainingIgnoreCase(String movieTitle);
-}
 
+    String VIEW = "select new com.example.bookyourshow.repository.ShowView(s.id, s.movieTitle, s.theatre.id, s.startTime, " +
+                  "s.price, s.seatsAvailable, s.language, s.screen) from Show s ";
+
+    // Read-only here rather than in ShowServiceImpl, so reads served by ShowCatalogue never borrow a connection
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.id = :id")
+    Optional<ShowView> findViewById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.id in :ids")
+    List<ShowView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.startTime >= :from order by s.id")
+    List<ShowView> findViewsStartingFrom(@Param("from") LocalDateTime from);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.id > :after order by s.id")
+    List<ShowView> findViewsAfter(@Param("after") Long after, Pageable page);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.theatre.id = :theatreId and s.id > :after order by s.id")
+    List<ShowView> findViewsByTheatreAfter(@Param("theatreId") Long theatreId, @Param("after") Long after, Pageable page);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where lower(s.movieTitle) like concat('%', :title, '%') and s.id > :after order by s.id")
+    List<ShowView> findViewsByTitleAfter(@Param("title") String lowerCaseTitle, @Param("after") Long after, Pageable page);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW + "where s.theatre.id = :theatreId and lower(s.movieTitle) like concat('%', :title, '%') and s.id > :after order by s.id")
+    List<ShowView> findViewsByTheatreAndTitleAfter(@Param("theatreId") Long theatreId, @Param("title") String lowerCaseTitle,
+                                                   @Param("after") Long after, Pageable page);
+
+    @Query("select s.seatsAvailable from Show s where s.id = :id")
+    Optional<Integer> findSeatsAvailableById(@Param("id") Long id);
+
+    @Query("select s.id, s.seatsAvailable from Show s")
+    List<Object[]> findAllSeatsAvailable();
+
+    // Bypasses the entity cache, for callers that need the current seat columns
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    @Query("select s from Show s where s.id = :id")
+    Optional<Show> findUncachedById(@Param("id") Long id);
+
+    @Query("select s.id, s.movieTitle, s.language, t.id, t.name from Show s join s.theatre t")
+    List<Object[]> findSearchFields();
+
+    @Query("select s.id from Show s where s.seatMap is null")
+    List<Long> findIdsWithoutSeatMap();
+
+    // A locking read sees the latest committed row, not the transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.example.bookyourshow.repository.SeatColumns(s.seatMap, s.seatCapacity, s.seatsPerRow) " +
+           "from Show s where s.id = :id")
+    Optional<SeatColumns> findSeatColumnsForUpdate(@Param("id") Long id);
+}
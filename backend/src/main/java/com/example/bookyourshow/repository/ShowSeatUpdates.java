@@ -0,0 +1,22 @@
+package com.example.bookyourshow.repository;
+
+public interface ShowSeatUpdates {
+    /**
+     * Query space of the seat updates below. It is not the shows table, so a booking does not
+     * clear the whole shows region; each update evicts only its own show, once it commits.
+     */
+    String SEAT_COLUMNS = "shows_seat_columns";
+
+    /**
+     * Takes seats only while enough are left.
+     *
+     * @return 1 if the seats were taken, 0 if the show has too few left
+     */
+    int decrementSeats(Long id, int seats);
+
+    int incrementSeats(Long id, int seats);
+
+    int updateSeatMap(Long id, byte[] seatMap);
+
+    int updateSeatCapacity(Long id, int capacity);
+}
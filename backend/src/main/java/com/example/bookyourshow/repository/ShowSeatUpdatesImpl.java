@@ -0,0 +1,89 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.Show;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ShowSeatUpdatesImpl implements ShowSeatUpdates {
+
+    private static final String DECREMENT_SQL =
+        "UPDATE shows SET seats_available = seats_available - :seats WHERE id = :id AND seats_available >= :seats";
+    private static final String INCREMENT_SQL = "UPDATE shows SET seats_available = seats_available + :seats WHERE id = :id";
+    private static final String SEAT_MAP_SQL = "UPDATE shows SET seat_map = :seatMap WHERE id = :id";
+    private static final String SEAT_CAPACITY_SQL = "UPDATE shows SET seat_capacity = :capacity WHERE id = :id";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int decrementSeats(Long id, int seats) {
+        return update(DECREMENT_SQL, id, "seats", seats);
+    }
+
+    @Override
+    public int incrementSeats(Long id, int seats) {
+        return update(INCREMENT_SQL, id, "seats", seats);
+    }
+
+    @Override
+    public int updateSeatMap(Long id, byte[] seatMap) {
+        return update(SEAT_MAP_SQL, id, "seatMap", seatMap);
+    }
+
+    @Override
+    public int updateSeatCapacity(Long id, int capacity) {
+        return update(SEAT_CAPACITY_SQL, id, "capacity", capacity);
+    }
+
+    private int update(String sql, Long id, String name, Object value) {
+        int rows = entityManager.createNativeQuery(sql)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, SEAT_COLUMNS)
+                .setParameter("id", id)
+                .setParameter(name, value)
+                .executeUpdate();
+        evictAfterCommit(id);
+        return rows;
+    }
+
+    /**
+     * Drops the show's cached entity once the new seat columns are visible, so the next
+     * read loads them. Evicting earlier would let a concurrent read cache the old row again.
+     */
+    private void evictAfterCommit(Long id) {
+        Set<Long> pending = pendingEvictions();
+        if (pending == null) {
+            entityManager.getEntityManagerFactory().getCache().evict(Show.class, id);
+        } else {
+            pending.add(id);
+        }
+    }
+
+    private Set<Long> pendingEvictions() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> ids = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ShowSeatUpdatesImpl.this);
+                    if (status == STATUS_COMMITTED) {
+                        ids.forEach(id -> entityManager.getEntityManagerFactory().getCache().evict(Show.class, id));
+                    }
+                }
+            });
+            pending = ids;
+        }
+        return pending;
+    }
+}
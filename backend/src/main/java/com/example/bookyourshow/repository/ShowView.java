@@ -0,0 +1,14 @@
+package com.example.bookyourshow.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a show: the columns of a {@code ShowResponse}, selected without loading the entity.
+ * <p>
+ * A record filled by a JPQL constructor expression rather than a Spring Data
+ * interface projection, whose per-row proxies cost more than entity hydration.
+ */
+public record ShowView(Long id, String movieTitle, Long theatreId, LocalDateTime startTime, BigDecimal price,
+                       Integer seatsAvailable, String language, String screen) {
+}
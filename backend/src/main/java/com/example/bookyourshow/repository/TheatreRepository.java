@@ -1,13 +1,43 @@
 package com.example.bookyourshow.repository;
 
 import com.example.bookyourshow.entity.Theatre;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TheatreRepository extends JpaRepository<Theatre, Long> {
     List<Theatre> findByCity(String city);
+
+    String VIEW = "select new com.example.bookyourshow.repository.TheatreView(t.id, t.name, t.city, t.address, t.totalSeats) " +
+                  "from Theatre t ";
+
+    // Theatres rarely change; any theatres write invalidates these cached results
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(VIEW + "where t.id = :id")
+    Optional<TheatreView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW + "where t.id > :after order by t.id")
+    List<TheatreView> findViewsAfter(@Param("after") Long after, Pageable page);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(VIEW + "where t.cityKey = :cityKey and t.id > :after order by t.id")
+    List<TheatreView> findViewsByCityAfter(@Param("cityKey") String cityKey, @Param("after") Long after, Pageable page);
+
+    @Query(VIEW + "order by t.id")
+    List<TheatreView> findAllViews();
+
+    @Modifying
+    @Query("update Theatre t set t.cityKey = lower(trim(t.city)) where t.cityKey is null")
+    int backfillCityKeys();
 }
 
@@ -0,0 +1,7 @@
+package com.example.bookyourshow.repository;
+
+/**
+ * Read-only projection of a theatre: the columns of a {@code TheatreResponse}, selected without loading the entity.
+ */
+public record TheatreView(Long id, String name, String city, String address, Integer totalSeats) {
+}
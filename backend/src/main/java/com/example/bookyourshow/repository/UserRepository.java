@@ -1,13 +1,36 @@
 package com.example.bookyourshow.repository;
 
 import com.example.bookyourshow.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Lookups by id and email go through the query cache, invalidated by any users write
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    String VIEW = "select new com.example.bookyourshow.repository.UserView(u.id, u.name, u.email, u.phone, u.createdAt) " +
+                  "from User u ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(VIEW + "where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(VIEW + "where u.email = :email")
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
+    @Query(VIEW + "where u.id > :after order by u.id")
+    List<UserView> findViewsAfter(@Param("after") Long after, Pageable page);
 }
 
@@ -0,0 +1,9 @@
+package com.example.bookyourshow.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a user: the columns of a {@code UserResponse}, selected without loading the entity.
+ */
+public record UserView(Long id, String name, String email, String phone, LocalDateTime createdAt) {
+}
@@ -0,0 +1,21 @@
+package com.example.bookyourshow.repository;
+
+import com.example.bookyourshow.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByStatusOrderByIdAsc(WaitlistEntry.WaitlistStatus status);
+
+    // Conditional on the current status, so the drain and leave() cannot both move an entry
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = :to, w.bookingId = :bookingId where w.id = :id and w.status = :from")
+    int transition(@Param("id") Long id, @Param("from") WaitlistEntry.WaitlistStatus from,
+                   @Param("to") WaitlistEntry.WaitlistStatus to, @Param("bookingId") Long bookingId);
+}
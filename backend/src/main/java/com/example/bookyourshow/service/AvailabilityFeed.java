@@ -0,0 +1,361 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes seat availability to Server-Sent Events subscribers.
+ * <p>
+ * Seat events only mark their show dirty. Every {@code app.availability-feed.coalesce-ms}
+ * one flusher thread reads the dirty shows from {@link SeatInventory} and
+ * gives each subscriber one {@code availability} event with the new counts of
+ * its shows, so a burst of bookings collapses into one event per window.
+ * Streams are async requests and hold no servlet thread while idle. Events are
+ * written by a small sender pool with at most one write in flight per
+ * subscriber; counts for a subscriber that falls behind are merged, not queued,
+ * so its backlog never exceeds one count per show.
+ * <p>
+ * A write still blocked after {@code app.availability-feed.send-timeout-ms}
+ * evicts its subscriber: it stops receiving counts, its sender is interrupted,
+ * and its stream is completed as soon as the write returns. Until then the pool
+ * runs one extra sender, so a stalled client never takes fan-out capacity from
+ * the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityFeed {
+
+    private final SeatInventory seatInventory;
+
+    @Value("${app.availability-feed.coalesce-ms:250}")
+    private long coalesceMillis;
+
+    @Value("${app.availability-feed.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${app.availability-feed.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.availability-feed.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.availability-feed.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    private final Map<Long, Set<Subscriber>> subscribersByShow = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> published = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private ThreadPoolExecutor senders;
+    // Senders blocked in writes to evicted subscribers, replaced in the pool until they return
+    private int stalledSenders;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(daemon("availability-feed"));
+        flusher.scheduleWithFixedDelay(this::flush, coalesceMillis, coalesceMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::evictStalled, coalesceMillis, coalesceMillis, TimeUnit.MILLISECONDS);
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("availability-sender"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Opens a stream for the shows in {@code current} (show id to seats available).
+     * The first event carries their counts as read after the stream is registered,
+     * so no change between the two is lost.
+     *
+     * @throws ResourceNotFoundException if {@code current} is empty
+     */
+    public SseEmitter subscribe(Map<Long, Integer> current) {
+        if (current.isEmpty()) {
+            throw new ResourceNotFoundException("No shows found to stream");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, List.copyOf(current.keySet()));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        for (Long showId : subscriber.showIds) {
+            subscribersByShow.compute(showId, (id, set) -> {
+                Set<Subscriber> shows = set != null ? set : ConcurrentHashMap.newKeySet();
+                shows.add(subscriber);
+                return shows;
+            });
+        }
+        subscriber.offer(seatInventory.snapshot(subscriber.showIds));
+        return emitter;
+    }
+
+    @EventListener
+    public void onSeatsBooked(SeatsBookedEvent event) {
+        markDirty(event.showId());
+    }
+
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        markDirty(event.showId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        // Admin edits reset the counter without a seat event
+        markDirty(event.showId());
+    }
+
+    private void markDirty(Long showId) {
+        if (subscribersByShow.containsKey(showId)) {
+            dirty.add(showId);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long showId : subscriber.showIds) {
+            subscribersByShow.computeIfPresent(showId, (id, set) -> {
+                set.remove(subscriber);
+                if (set.isEmpty()) {
+                    published.remove(id);
+                    return null;
+                }
+                return set;
+            });
+        }
+    }
+
+    private void flush() {
+        try {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            List<Long> changed = new ArrayList<>(dirty);
+            changed.forEach(dirty::remove);
+
+            Map<Subscriber, Map<Long, Integer>> batches = new HashMap<>();
+            seatInventory.snapshot(changed).forEach((showId, seats) -> {
+                if (seats.equals(published.put(showId, seats))) {
+                    return;
+                }
+                for (Subscriber subscriber : subscribersByShow.getOrDefault(showId, Set.of())) {
+                    batches.computeIfAbsent(subscriber, s -> new LinkedHashMap<>()).put(showId, seats);
+                }
+            });
+            batches.forEach(Subscriber::offer);
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled flush for good
+            log.error("Availability feed flush failed", e);
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    private void evictStalled() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.evictIfStartedBefore(deadline);
+        }
+    }
+
+    private synchronized void adjustSenders(int stalled) {
+        stalledSenders += stalled;
+        int size = senderThreads + stalledSenders;
+        // The pool rejects a core size above the maximum, so grow the maximum first and shrink it last
+        if (stalled > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open stream. {@code pending} holds the latest counts not yet written;
+     * {@code sendStarted} is the start of the write in flight, 0 when there is none.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final List<Long> showIds;
+        private final Map<Long, Integer> pending = new LinkedHashMap<>();
+        private boolean ping;
+        private boolean sending;
+        private boolean evicted;
+        private boolean stalled;
+        private long sendStarted;
+        private Thread sender;
+
+        private Subscriber(SseEmitter emitter, List<Long> showIds) {
+            this.emitter = emitter;
+            this.showIds = showIds;
+        }
+
+        void offer(Map<Long, Integer> counts) {
+            synchronized (this) {
+                pending.putAll(counts);
+                if (!startSending()) {
+                    return;
+                }
+            }
+            submit();
+        }
+
+        void ping() {
+            synchronized (this) {
+                ping = true;
+                if (!startSending()) {
+                    return;
+                }
+            }
+            submit();
+        }
+
+        /**
+         * Evicts the subscriber if its write in flight started before {@code deadline}.
+         * The stream is completed by the sender once the write returns: completing it
+         * here would wait for the write.
+         */
+        void evictIfStartedBefore(long deadline) {
+            synchronized (this) {
+                if (evicted || sendStarted == 0 || sendStarted - deadline > 0) {
+                    return;
+                }
+                evicted = true;
+                stalled = true;
+                sender.interrupt();
+                // Inside the lock, so the sender's matching -1 can only come after it
+                adjustSenders(1);
+            }
+            log.warn("Evicted availability subscriber after a write blocked for over {} ms", sendTimeoutMillis);
+            unsubscribe(this);
+        }
+
+        private boolean startSending() {
+            if (sending || evicted) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+        private void submit() {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+
+        private void drain() {
+            try {
+                send();
+            } finally {
+                boolean replaced;
+                synchronized (this) {
+                    sender = null;
+                    sendStarted = 0;
+                    replaced = stalled;
+                    stalled = false;
+                }
+                // An eviction may have interrupted this pool thread
+                Thread.interrupted();
+                if (replaced) {
+                    adjustSenders(-1);
+                }
+            }
+        }
+
+        private void send() {
+            while (true) {
+                Map<Long, Integer> batch;
+                synchronized (this) {
+                    if (evicted) {
+                        sending = false;
+                        break;
+                    }
+                    if (pending.isEmpty() && !ping) {
+                        sending = false;
+                        return;
+                    }
+                    batch = pending.isEmpty() ? null : new LinkedHashMap<>(pending);
+                    pending.clear();
+                    ping = false;
+                    sender = Thread.currentThread();
+                    sendStarted = System.nanoTime();
+                }
+                try {
+                    if (batch != null) {
+                        emitter.send(SseEmitter.event().name("availability").data(batch, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone, stream already completed, or the write was interrupted by an eviction
+                    synchronized (this) {
+                        evicted = true;
+                        sending = false;
+                    }
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                } finally {
+                    synchronized (this) {
+                        sendStarted = 0;
+                    }
+                }
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.BookingBatchResponse;
 import com.example.bookyourshow.dto.BookingRequest;
 import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.CursorPage;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingService {
     BookingResponse createBooking(BookingRequest request);
+    BookingBatchResponse createBookings(List<BookingRequest> requests);
+    BookingResponse holdSeats(BookingRequest request);
+    BookingResponse confirmBooking(Long bookingId);
     BookingResponse cancelBooking(Long bookingId);
     BookingResponse getBooking(Long id);
     List<BookingResponse> getBookingsByUser(Long userId);
-    List<BookingResponse> getAllBookings(Optional<Long> userId);
+    CursorPage<BookingResponse> getAllBookings(Optional<Long> userId, Long after, Integer limit);
 
     BookingResponse updateBooking(Long id, BookingRequest request);
 }
@@ -1,24 +1,44 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.BookingBatchItemResult;
+import com.example.bookyourshow.dto.BookingBatchResponse;
 import com.example.bookyourshow.dto.BookingRequest;
 import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.entity.Booking;
 import com.example.bookyourshow.entity.Show;
 import com.example.bookyourshow.entity.User;
+import com.example.bookyourshow.event.BookingChangedEvent;
 import com.example.bookyourshow.exception.BadRequestException;
 import com.example.bookyourshow.exception.ConflictException;
 import com.example.bookyourshow.exception.ResourceNotFoundException;
 import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.BookingView;
+import com.example.bookyourshow.repository.ReplicaRouting;
 import com.example.bookyourshow.repository.ShowRepository;
 import com.example.bookyourshow.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,26 +47,234 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ShowRepository showRepository;
+    private final SeatInventory seatInventory;
+    private final SeatMapRegistry seatMapRegistry;
+    private final HoldExpiryService holdExpiryService;
+    private final Pagination pagination;
+    private final ReadYourWrites readYourWrites;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bookings.batch-max-size:1000}")
+    private int maxBatchSize;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public BookingResponse createBooking(BookingRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
+        return wrote(BookingChangedEvent.Change.BOOKED, book(request, Booking.BookingStatus.CONFIRMED));
+    }
 
-        Show show = showRepository.findById(request.getShowId())
-                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + request.getShowId()));
+    @Override
+    public BookingResponse holdSeats(BookingRequest request) {
+        BookingResponse response = book(request, Booking.BookingStatus.HELD);
+        holdExpiryService.schedule(response.getId(), response.getHoldExpiresAt());
+        return wrote(BookingChangedEvent.Change.HELD, response);
+    }
+
+    @Override
+    @Transactional
+    public BookingResponse confirmBooking(Long bookingId) {
+        // Seats were taken when the hold was placed, so confirming is a single conditional update
+        if (bookingRepository.confirmHold(bookingId, LocalDateTime.now()) == 0) {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+            if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                // Confirmed by an earlier call; nothing changed
+                return mapToResponse(booking);
+            }
+            throw new ConflictException("Hold has expired or is no longer active");
+        }
+        holdExpiryService.cancel(bookingId);
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+        return wrote(BookingChangedEvent.Change.CONFIRMED, mapToResponse(booking));
+    }
+
+    @Override
+    public BookingBatchResponse createBookings(List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one booking is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " bookings are allowed per batch");
+        }
+
+        BookingBatchItemResult[] results = new BookingBatchItemResult[requests.size()];
+        Map<Long, List<Integer>> byShow = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (request == null || request.getUserId() == null || request.getShowId() == null
+                    || request.getSeats() == null || request.getSeats() <= 0) {
+                results[i] = new BookingBatchItemResult(i, HttpStatus.BAD_REQUEST.value(), null,
+                        "userId, showId and a positive number of seats are required");
+                continue;
+            }
+            byShow.computeIfAbsent(request.getShowId(), id -> new ArrayList<>()).add(i);
+        }
+
+        // Load every user and show in the batch once, from the primary: a replica may not have
+        // a user or show created moments ago, which would turn its requests into 404s
+        Set<Long> userIds = byShow.values().stream()
+                .flatMap(List::stream)
+                .map(i -> requests.get(i).getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, User> users = ReplicaRouting.onPrimary(() -> userRepository.findAllById(userIds)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Show> shows = ReplicaRouting.onPrimary(() -> showRepository.findAllById(byShow.keySet())).stream()
+                .collect(Collectors.toMap(Show::getId, Function.identity()));
+
+        byShow.forEach((showId, indexes) -> bookShowGroup(shows.get(showId), showId, indexes, requests, users, results));
 
+        int succeeded = (int) Arrays.stream(results).filter(r -> r.getBooking() != null).count();
+        return new BookingBatchResponse(succeeded, results.length - succeeded, Arrays.asList(results));
+    }
+
+    /**
+     * Books every request for one show in a single transaction: one conditional
+     * decrement for the group's total seats and one batched insert.
+     */
+    private void bookShowGroup(Show show, Long showId, List<Integer> indexes, List<BookingRequest> requests,
+                               Map<Long, User> users, BookingBatchItemResult[] results) {
+        if (show == null) {
+            indexes.forEach(i -> results[i] = new BookingBatchItemResult(i, HttpStatus.NOT_FOUND.value(), null,
+                    "Show not found with id: " + showId));
+            return;
+        }
+
+        Map<Integer, int[]> claims = new LinkedHashMap<>();
+        for (int i : indexes) {
+            BookingRequest request = requests.get(i);
+            if (!users.containsKey(request.getUserId())) {
+                results[i] = new BookingBatchItemResult(i, HttpStatus.NOT_FOUND.value(), null,
+                        "User not found with id: " + request.getUserId());
+                continue;
+            }
+            try {
+                if (!seatInventory.tryReserve(showId, request.getSeats())) {
+                    throw new ConflictException("Not enough seats available. Available: " + seatInventory.available(showId) + ", Requested: " + request.getSeats());
+                }
+                try {
+                    claims.put(i, seatMapRegistry.claim(showId, request.getSeatsSelected(), request.getSeats()));
+                } catch (RuntimeException e) {
+                    seatInventory.complete(showId, request.getSeats(), false);
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                results[i] = new BookingBatchItemResult(i, statusOf(e), null, e.getMessage());
+            }
+        }
+        if (claims.isEmpty()) {
+            return;
+        }
+
+        int totalSeats = claims.keySet().stream().mapToInt(i -> requests.get(i).getSeats()).sum();
+        try {
+            List<Booking> bookings = transactionTemplate.execute(tx -> {
+                if (showRepository.decrementSeats(showId, totalSeats) == 0) {
+                    throw new ConflictException("Not enough seats available for the bookings of show " + showId);
+                }
+                seatMapRegistry.persist(showId, claims.values().stream().flatMapToInt(Arrays::stream).toArray(), new int[0]);
+
+                List<Booking> toInsert = new ArrayList<>(claims.size());
+                claims.forEach((i, seats) -> {
+                    BookingRequest request = requests.get(i);
+                    Booking booking = new Booking();
+                    booking.setUser(users.get(request.getUserId()));
+                    booking.setShow(show);
+                    booking.setSeats(request.getSeats());
+                    booking.setSeatNumbers(seatMapRegistry.toSeatNumbers(showId, seats));
+                    booking.setTotalPrice(show.getPrice().multiply(BigDecimal.valueOf(request.getSeats())));
+                    booking.setStatus(Booking.BookingStatus.CONFIRMED);
+                    toInsert.add(booking);
+                });
+                bookingRepository.insertBatch(toInsert);
+                return toInsert;
+            });
+
+            int n = 0;
+            for (int i : claims.keySet()) {
+                results[i] = new BookingBatchItemResult(i, HttpStatus.CREATED.value(),
+                        wrote(BookingChangedEvent.Change.BOOKED, mapToResponse(bookings.get(n++))), null);
+                seatInventory.complete(showId, requests.get(i).getSeats(), true);
+            }
+        } catch (RuntimeException e) {
+            claims.forEach((i, seats) -> {
+                seatMapRegistry.release(showId, seats);
+                seatInventory.complete(showId, requests.get(i).getSeats(), false);
+                results[i] = new BookingBatchItemResult(i, statusOf(e), null, e.getMessage());
+            });
+            if (e instanceof ConflictException) {
+                seatInventory.refresh(showId);
+            }
+        }
+    }
+
+    // Publishes the change; reads of this booking and its user's bookings go to the primary for a while (see ReadYourWrites)
+    private BookingResponse wrote(BookingChangedEvent.Change change, BookingResponse response) {
+        readYourWrites.wrote(ReadYourWrites.Kind.BOOKING, response.getId());
+        readYourWrites.wrote(ReadYourWrites.Kind.USER, response.getUserId());
+        eventPublisher.publishEvent(new BookingChangedEvent(change, response));
+        return response;
+    }
+
+    private static int statusOf(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND.value();
+        }
+        if (e instanceof BadRequestException) {
+            return HttpStatus.BAD_REQUEST.value();
+        }
+        if (e instanceof ConflictException) {
+            return HttpStatus.CONFLICT.value();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private BookingResponse book(BookingRequest request, Booking.BookingStatus status) {
         if (request.getSeats() <= 0) {
             throw new BadRequestException("Number of seats must be greater than 0");
         }
 
-        if (request.getSeats() > show.getSeatsAvailable()) {
-            throw new ConflictException("Not enough seats available. Available: " + show.getSeatsAvailable() + ", Requested: " + request.getSeats());
+        // Admit against the in-memory counter first so sold-out shows never open a transaction
+        if (!seatInventory.tryReserve(request.getShowId(), request.getSeats())) {
+            throw new ConflictException("Not enough seats available. Available: " + seatInventory.available(request.getShowId()) + ", Requested: " + request.getSeats());
+        }
+
+        int[] claimed;
+        try {
+            claimed = seatMapRegistry.claim(request.getShowId(), request.getSeatsSelected(), request.getSeats());
+        } catch (RuntimeException e) {
+            seatInventory.complete(request.getShowId(), request.getSeats(), false);
+            throw e;
         }
 
-        show.setSeatsAvailable(show.getSeatsAvailable() - request.getSeats());
-        showRepository.save(show);
+        BookingResponse response;
+        try {
+            response = transactionTemplate.execute(tx -> persistBooking(request, claimed, status));
+        } catch (RuntimeException e) {
+            seatMapRegistry.release(request.getShowId(), claimed);
+            seatInventory.complete(request.getShowId(), request.getSeats(), false);
+            if (e instanceof ConflictException) {
+                // The counter admitted more than the database had; resync it from the row
+                seatInventory.refresh(request.getShowId());
+            }
+            throw e;
+        }
+        seatInventory.complete(request.getShowId(), request.getSeats(), true);
+        return response;
+    }
+
+    private BookingResponse persistBooking(BookingRequest request, int[] seats, Booking.BookingStatus status) {
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
+
+        // Conditional decrement: the row update itself rejects overselling
+        if (showRepository.decrementSeats(request.getShowId(), request.getSeats()) == 0) {
+            throw new ConflictException("Not enough seats available. Requested: " + request.getSeats());
+        }
+        seatMapRegistry.persist(request.getShowId(), seats, new int[0]);
+
+        Show show = showRepository.findById(request.getShowId())
+                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + request.getShowId()));
 
         BigDecimal totalPrice = show.getPrice().multiply(BigDecimal.valueOf(request.getSeats()));
 
@@ -54,63 +282,86 @@ public class BookingServiceImpl implements BookingService {
         booking.setUser(user);
         booking.setShow(show);
         booking.setSeats(request.getSeats());
+        booking.setSeatNumbers(seatMapRegistry.toSeatNumbers(show.getId(), seats));
         booking.setTotalPrice(totalPrice);
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setStatus(status);
+        if (status == Booking.BookingStatus.HELD) {
+            booking.setHoldExpiresAt(holdExpiryService.newExpiry());
+        }
 
         Booking saved = bookingRepository.save(booking);
         return mapToResponse(saved);
     }
 
     @Override
-    @Transactional
     public BookingResponse cancelBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
-
-        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
-            throw new BadRequestException("Booking is already cancelled");
-        }
+        int[][] released = new int[1][];
+        BookingResponse response = transactionTemplate.execute(status -> {
+            // Cancel first and only return seats if this call did it: a concurrent cancel or
+            // hold expiry (which locks the held rows it cancels) returns them otherwise
+            if (bookingRepository.cancel(bookingId) == 0) {
+                if (!bookingRepository.existsById(bookingId)) {
+                    throw new ResourceNotFoundException("Booking not found with id: " + bookingId);
+                }
+                throw new BadRequestException("Booking is already cancelled");
+            }
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
-        // Restore seats
-        Show show = booking.getShow();
-        show.setSeatsAvailable(show.getSeatsAvailable() + booking.getSeats());
-        showRepository.save(show);
+            // Restore seats
+            Long showId = booking.getShow().getId();
+            showRepository.incrementSeats(showId, booking.getSeats());
+            released[0] = seatMapRegistry.indexesOf(showId, booking.getSeatNumbers());
+            seatMapRegistry.persist(showId, new int[0], released[0]);
 
-        // Update booking status
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        Booking updated = bookingRepository.save(booking);
+            return mapToResponse(booking);
+        });
 
-        return mapToResponse(updated);
+        holdExpiryService.cancel(bookingId);
+        seatMapRegistry.release(response.getShowId(), released[0]);
+        seatInventory.release(response.getShowId(), response.getSeats());
+        return wrote(BookingChangedEvent.Change.CANCELLED, response);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingResponse getBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        BookingView booking = readYourWrites.read(ReadYourWrites.Kind.BOOKING, id, () -> bookingRepository.findViewById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
         return mapToResponse(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByUser(Long userId) {
-        return bookingRepository.findByUserId(userId).stream()
+        return readYourWrites.read(ReadYourWrites.Kind.USER, userId, () -> bookingRepository.findViewsByUserId(userId)).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingResponse> getAllBookings(Optional<Long> userId) {
-        List<Booking> bookings = userId.map(bookingRepository::findByUserId)
-                .orElseGet(bookingRepository::findAll);
-        return bookings.stream()
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponse> getAllBookings(Optional<Long> userId, Long after, Integer limit) {
+        int size = pagination.limit(limit);
+        long cursor = Pagination.after(after);
+        List<BookingView> bookings = userId
+                .map(id -> readYourWrites.read(ReadYourWrites.Kind.USER, id,
+                        () -> bookingRepository.findViewsByUserAfter(id, cursor, Pagination.fetch(size))))
+                .orElseGet(() -> bookingRepository.findViewsAfter(cursor, Pagination.fetch(size)));
+        return Pagination.page(bookings.stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), size, BookingResponse::getId);
     }
 
     @Override
     @Transactional
     public BookingResponse updateBooking(Long id, BookingRequest request) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
+        // Its seats are already back with the show, and its seat numbers are stale
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            throw new BadRequestException("Cannot update a cancelled booking");
+        }
 
         Show show = showRepository.findById(request.getShowId())
                 .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + request.getShowId()));
@@ -121,35 +372,144 @@ public class BookingServiceImpl implements BookingService {
 
         // Adjust seats if show changed or seat count changed
         int oldSeats = booking.getSeats();
-        if (!booking.getShow().getId().equals(show.getId())) {
-            // Restore old show seats
-            Show oldShow = booking.getShow();
-            oldShow.setSeatsAvailable(oldShow.getSeatsAvailable() + oldSeats);
-            showRepository.save(oldShow);
-
-            // Deduct from new show
-            if (request.getSeats() > show.getSeatsAvailable()) {
-                throw new ConflictException("Not enough seats available in new show");
-            }
-            show.setSeatsAvailable(show.getSeatsAvailable() - request.getSeats());
-            showRepository.save(show);
+        Long oldShowId = booking.getShow().getId();
+        boolean showChanged = !oldShowId.equals(show.getId());
+        int taken = showChanged ? request.getSeats() : Math.max(0, request.getSeats() - oldSeats);
+        int returned = showChanged ? oldSeats : Math.max(0, oldSeats - request.getSeats());
+        String conflict = showChanged ? "Not enough seats available in new show" : "Not enough seats available to increase booking";
+        reserveForUpdate(show.getId(), taken, oldShowId, returned, conflict);
+        SeatChange seatChange = changeSeats(booking, show.getId(), request);
 
+        // Conditional row updates in show id order, so two moves between the same shows cannot deadlock
+        boolean returnFirst = returned > 0 && oldShowId < show.getId();
+        if (returnFirst) {
+            showRepository.incrementSeats(oldShowId, returned);
+        }
+        if (taken > 0 && showRepository.decrementSeats(show.getId(), taken) == 0) {
+            throw new ConflictException(conflict);
+        }
+        if (returned > 0 && !returnFirst) {
+            showRepository.incrementSeats(oldShowId, returned);
+        }
+        if (showChanged) {
             booking.setShow(show);
-        } else if (request.getSeats() != oldSeats) {
-            int diff = request.getSeats() - oldSeats;
-            if (diff > 0 && diff > show.getSeatsAvailable()) {
-                throw new ConflictException("Not enough seats available to increase booking");
+        }
+
+        if (seatChange.changed()) {
+            if (taken == 0 && returned == 0) {
+                // Same seat count, different seats: a zero decrement still locks the show row
+                showRepository.decrementSeats(show.getId(), 0);
+            }
+            if (showChanged) {
+                seatMapRegistry.persist(oldShowId, new int[0], seatChange.released());
+                seatMapRegistry.persist(show.getId(), seatChange.claimed(), new int[0]);
+            } else {
+                seatMapRegistry.persist(oldShowId, seatChange.claimed(), seatChange.released());
             }
-            show.setSeatsAvailable(show.getSeatsAvailable() - diff);
-            showRepository.save(show);
         }
 
         // Update booking details
         booking.setSeats(request.getSeats());
+        booking.setSeatNumbers(seatChange.seatNumbers());
         booking.setTotalPrice(show.getPrice().multiply(BigDecimal.valueOf(request.getSeats())));
         Booking updated = bookingRepository.save(booking);
 
-        return mapToResponse(updated);
+        return wrote(BookingChangedEvent.Change.UPDATED, mapToResponse(updated));
+    }
+
+    /**
+     * Claims the seats a booking gains in memory and works out the ones it gives up.
+     * Gained seats are returned if the transaction rolls back; given-up seats are only
+     * released once it commits.
+     */
+    private SeatChange changeSeats(Booking booking, Long showId, BookingRequest request) {
+        Long oldShowId = booking.getShow().getId();
+        int[] current = seatMapRegistry.indexesOf(oldShowId, booking.getSeatNumbers());
+        List<String> selected = request.getSeatsSelected();
+
+        int[] kept;
+        int[] claimed;
+        if (!oldShowId.equals(showId)) {
+            kept = new int[0];
+            claimed = seatMapRegistry.claim(showId, selected, request.getSeats());
+        } else if (selected != null && !selected.isEmpty()) {
+            if (selected.size() != request.getSeats()) {
+                throw new BadRequestException("Selected " + selected.size() + " seats but requested " + request.getSeats());
+            }
+            int[] wanted = seatMapRegistry.indexesOf(showId, String.join(",", selected));
+            Set<Integer> currentSet = Arrays.stream(current).boxed().collect(Collectors.toSet());
+            kept = Arrays.stream(wanted).filter(currentSet::contains).toArray();
+            claimed = Arrays.stream(wanted).filter(seat -> !currentSet.contains(seat)).toArray();
+            seatMapRegistry.claimExact(showId, claimed);
+        } else if (request.getSeats() >= booking.getSeats()) {
+            kept = current;
+            claimed = request.getSeats() > booking.getSeats()
+                    ? seatMapRegistry.claim(showId, null, request.getSeats() - booking.getSeats())
+                    : new int[0];
+        } else {
+            kept = Arrays.copyOf(current, Math.min(current.length, request.getSeats()));
+            claimed = new int[0];
+        }
+
+        Set<Integer> keptSet = Arrays.stream(kept).boxed().collect(Collectors.toSet());
+        int[] released = Arrays.stream(current).filter(seat -> !keptSet.contains(seat)).toArray();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    seatMapRegistry.release(oldShowId, released);
+                } else {
+                    seatMapRegistry.release(showId, claimed);
+                }
+            }
+        });
+
+        int[] seats = IntStream.concat(Arrays.stream(kept), Arrays.stream(claimed)).toArray();
+        return new SeatChange(seatMapRegistry.toSeatNumbers(showId, seats), claimed, released);
+    }
+
+    private record SeatChange(String seatNumbers, int[] claimed, int[] released) {
+
+        boolean changed() {
+            return claimed.length > 0 || released.length > 0;
+        }
+    }
+
+    /**
+     * Reserves the seats an update adds in the inventory and settles the counters
+     * once the transaction completes.
+     */
+    private void reserveForUpdate(Long showId, int taken, Long returnedShowId, int returned, String conflict) {
+        if (taken > 0 && !seatInventory.tryReserve(showId, taken)) {
+            throw new ConflictException(conflict);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                if (taken > 0) {
+                    seatInventory.complete(showId, taken, committed);
+                }
+                if (committed && returned > 0) {
+                    seatInventory.release(returnedShowId, returned);
+                }
+            }
+        });
+    }
+
+    private BookingResponse mapToResponse(BookingView booking) {
+        return new BookingResponse(
+                booking.id(),
+                booking.userId(),
+                booking.showId(),
+                booking.seats(),
+                booking.totalPrice().doubleValue(),
+                booking.status().name(),
+                booking.bookingTime(),
+                SeatMapRegistry.parseSeatNumbers(booking.seatNumbers()),
+                booking.holdExpiresAt()
+        );
     }
 
     private BookingResponse mapToResponse(Booking booking) {
@@ -160,7 +520,9 @@ public class BookingServiceImpl implements BookingService {
                 booking.getSeats(),
                 booking.getTotalPrice().doubleValue(),
                 booking.getStatus().name(),
-                booking.getBookingTime()
+                booking.getBookingTime(),
+                SeatMapRegistry.parseSeatNumbers(booking.getSeatNumbers()),
+                booking.getHoldExpiresAt()
         );
     }
 }
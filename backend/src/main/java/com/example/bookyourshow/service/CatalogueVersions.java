@@ -0,0 +1,79 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.event.TheatreChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for the show and theatre collections, used as strong ETags
+ * by the catalogue endpoints so conditional GETs are answered without a query.
+ * <p>
+ * A counter moves after every committed write to its collection, including
+ * seat changes since {@code seatsAvailable} is part of every show. The tag also
+ * carries a random per-process epoch, so tags from before a restart or from
+ * another instance never match. Listeners run after the ones that refresh
+ * {@link ShowCatalogue}, {@link ShowSearchIndex} and the city listings ({@link #AFTER_CACHES}):
+ * a request that sees the new version can no longer be served stale data.
+ * Callers must read the tag before loading the data it describes.
+ */
+@Component
+public class CatalogueVersions {
+
+    /**
+     * Listener order for cache refreshes that must happen before the version moves.
+     */
+    public static final int BEFORE_VERSIONS = 0;
+    private static final int AFTER_CACHES = Ordered.LOWEST_PRECEDENCE;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong shows = new AtomicLong();
+    private final AtomicLong theatres = new AtomicLong();
+
+    public String showsETag() {
+        return "\"shows-" + epoch + "-" + shows.get() + "\"";
+    }
+
+    public String theatresETag() {
+        return "\"theatres-" + epoch + "-" + theatres.get() + "\"";
+    }
+
+    /**
+     * Tag for views that combine both collections, such as the city listings.
+     */
+    public String citiesETag() {
+        return "\"cities-" + epoch + "-" + theatres.get() + "-" + shows.get() + "\"";
+    }
+
+    @Order(AFTER_CACHES)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        shows.incrementAndGet();
+    }
+
+    @Order(AFTER_CACHES)
+    @EventListener
+    public void onSeatsBooked(SeatsBookedEvent event) {
+        shows.incrementAndGet();
+    }
+
+    @Order(AFTER_CACHES)
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        shows.incrementAndGet();
+    }
+
+    @Order(AFTER_CACHES)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheatreChanged(TheatreChangedEvent event) {
+        theatres.incrementAndGet();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.CityShowsResponse;
+
+public interface CityService {
+    CityShowsResponse getCityShows(String city);
+}
@@ -0,0 +1,454 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.CityMovieResponse;
+import com.example.bookyourshow.dto.CityShowsResponse;
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.dto.TheatreResponse;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.event.TheatreChangedEvent;
+import com.example.bookyourshow.exception.ResourceNotFoundException;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.ShowView;
+import com.example.bookyourshow.repository.TheatreRepository;
+import com.example.bookyourshow.repository.TheatreView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * "What's on" listings per city: the city's theatres plus its upcoming shows
+ * grouped by movie, with per-movie aggregates.
+ * <p>
+ * Built in memory at startup from one theatre and one show query, then kept
+ * current from show and theatre change events after commit, so serving a city
+ * runs no query. Each city is an immutable snapshot that writers replace
+ * whole, and its rendered page is swapped in next to it, so reads take no lock
+ * and writers only serialize among themselves, after any query they need.
+ * <p>
+ * A page keeps the city's layout (shows grouped by movie and sorted), which is
+ * redone only when the city is replaced or reaches its earliest show, dropping
+ * past shows. Seat changes only mark the page: the next read refills the
+ * layout with live counts from {@link SeatInventory}, without regrouping.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CityServiceImpl implements CityService {
+
+    private static final Comparator<ShowResponse> BY_START = Comparator
+            .comparing(ShowResponse::getDate)
+            .thenComparing(ShowResponse::getTime)
+            .thenComparing(ShowResponse::getId);
+
+    private final TheatreRepository theatreRepository;
+    private final ShowRepository showRepository;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, City> cities = new ConcurrentHashMap<>();
+    private final Map<String, Rendered> pages = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> seatChanges = new ConcurrentHashMap<>();
+    private final Map<Long, String> cityByTheatre = new ConcurrentHashMap<>();
+    private final Map<Long, String> cityByShow = new ConcurrentHashMap<>();
+    // Serializes writers only; never held across a query
+    private final ReentrantLock writes = new ReentrantLock();
+    private final AtomicReference<CompletableFuture<Void>> built = new AtomicReference<>();
+
+    @Override
+    public CityShowsResponse getCityShows(String city) {
+        build();
+        String key = Theatre.cityKey(city);
+        City current = cities.get(key);
+        if (current == null) {
+            throw new ResourceNotFoundException("No theatres found in city: " + city);
+        }
+        // Read before rendering: a seat change that lands meanwhile forces another fill
+        long seats = seatChanges(key).get();
+        Rendered page = pages.get(key);
+        if (page == null || !page.layout().isCurrent(current)) {
+            page = fill(layout(key, current), seats);
+            pages.put(key, page);
+        } else if (page.seats() != seats) {
+            page = fill(page.layout(), seats);
+            pages.put(key, page);
+        }
+        return page.response();
+    }
+
+    /**
+     * Loads the listings once; callers arriving meanwhile wait for that load, and a
+     * failed load is retried by the next caller.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        CompletableFuture<Void> running = built.get();
+        if (running == null) {
+            CompletableFuture<Void> load = new CompletableFuture<>();
+            running = built.compareAndExchange(null, load);
+            if (running == null) {
+                try {
+                    load();
+                    load.complete(null);
+                } catch (RuntimeException e) {
+                    built.set(null);
+                    load.completeExceptionally(e);
+                    throw e;
+                }
+                return;
+            }
+        }
+        running.join();
+    }
+
+    private void load() {
+        // Rows written before city_key existed get it here; new rows set it on save
+        Integer backfilled = transactionTemplate.execute(status -> theatreRepository.backfillCityKeys());
+        if (backfilled != null && backfilled > 0) {
+            log.info("Backfilled city_key for {} theatres", backfilled);
+        }
+        List<TheatreView> theatres = ReplicaRouting.onPrimary(theatreRepository::findAllViews);
+        List<ShowView> shows = ReplicaRouting.onPrimary(() -> showRepository.findViewsStartingFrom(LocalDateTime.now()));
+        // Assembled in bulk rather than through putTheatre/putShow, which copy the city per row
+        Map<String, String> names = new HashMap<>();
+        Map<String, Map<Long, TheatreResponse>> theatresByCity = new HashMap<>();
+        Map<String, Map<Long, ShowResponse>> showsByCity = new HashMap<>();
+        for (TheatreView theatre : theatres) {
+            String key = Theatre.cityKey(theatre.city());
+            names.putIfAbsent(key, theatre.city().trim());
+            theatresByCity.computeIfAbsent(key, k -> new TreeMap<>()).put(theatre.id(), mapToResponse(theatre));
+            showsByCity.computeIfAbsent(key, k -> new HashMap<>());
+            cityByTheatre.put(theatre.id(), key);
+        }
+        for (ShowView show : shows) {
+            String key = cityByTheatre.get(show.theatreId());
+            if (key != null) {
+                showsByCity.get(key).put(show.id(), mapToResponse(show));
+                cityByShow.put(show.id(), key);
+            }
+        }
+        // No writer runs yet: change events wait for the load to finish
+        names.forEach((key, name) -> cities.put(key, new City(name, theatresByCity.get(key), showsByCity.get(key))));
+        log.info("City listings built for {} cities", cities.size());
+    }
+
+    /**
+     * Whether the listings are loaded, waiting for a load in progress so a change
+     * committed meanwhile is applied on top of it rather than dropped.
+     */
+    private boolean loaded() {
+        CompletableFuture<Void> load = built.get();
+        if (load == null) {
+            return false;
+        }
+        try {
+            load.join();
+            return true;
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        if (!loaded()) {
+            return;
+        }
+        ShowResponse after = event.after();
+        TheatreView theatre = after == null || cityByTheatre.containsKey(after.getTheatreId())
+                ? null
+                : ReplicaRouting.onPrimary(() -> theatreRepository.findViewById(after.getTheatreId())).orElse(null);
+        writes.lock();
+        try {
+            removeShow(event.showId());
+            if (theatre != null && !cityByTheatre.containsKey(theatre.id())) {
+                putTheatre(theatre);
+            }
+            if (after != null) {
+                putShow(after);
+            }
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheatreChanged(TheatreChangedEvent event) {
+        if (!loaded()) {
+            return;
+        }
+        TheatreView theatre = ReplicaRouting.onPrimary(() -> theatreRepository.findViewById(event.theatreId())).orElse(null);
+        if (theatre == null) {
+            return;
+        }
+        writes.lock();
+        try {
+            putTheatre(theatre);
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @EventListener
+    public void onSeatsBooked(SeatsBookedEvent event) {
+        touch(event.showId());
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        touch(event.showId());
+    }
+
+    private void touch(Long showId) {
+        String key = cityByShow.get(showId);
+        if (key != null) {
+            seatChanges(key).incrementAndGet();
+        }
+    }
+
+    private AtomicLong seatChanges(String key) {
+        return seatChanges.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private void putTheatre(TheatreView theatre) {
+        String key = Theatre.cityKey(theatre.city());
+        String previous = cityByTheatre.put(theatre.id(), key);
+        City city = cities.getOrDefault(key, new City(theatre.city().trim(), Map.of(), Map.of()));
+        Map<Long, ShowResponse> moved = Map.of();
+        if (previous != null && !previous.equals(key)) {
+            moved = moveTheatre(theatre.id(), previous);
+        }
+        Map<Long, TheatreResponse> theatres = new TreeMap<>(city.theatres());
+        theatres.put(theatre.id(), mapToResponse(theatre));
+        Map<Long, ShowResponse> shows = city.shows();
+        if (!moved.isEmpty()) {
+            shows = new HashMap<>(shows);
+            shows.putAll(moved);
+            moved.keySet().forEach(showId -> cityByShow.put(showId, key));
+        }
+        cities.put(key, city.with(theatres, shows));
+    }
+
+    /**
+     * Takes a theatre and its shows out of its previous city, returning the shows.
+     */
+    private Map<Long, ShowResponse> moveTheatre(Long theatreId, String fromKey) {
+        City from = cities.get(fromKey);
+        if (from == null) {
+            return Map.of();
+        }
+        Map<Long, TheatreResponse> theatres = new TreeMap<>(from.theatres());
+        theatres.remove(theatreId);
+        Map<Long, ShowResponse> shows = new HashMap<>();
+        Map<Long, ShowResponse> moved = new HashMap<>();
+        from.shows().forEach((id, show) -> (show.getTheatreId().equals(theatreId) ? moved : shows).put(id, show));
+        if (theatres.isEmpty()) {
+            cities.remove(fromKey);
+            pages.remove(fromKey);
+        } else {
+            cities.put(fromKey, from.with(theatres, shows));
+        }
+        return moved;
+    }
+
+    private void putShow(ShowResponse show) {
+        if (LocalDateTime.of(show.getDate(), show.getTime()).isBefore(LocalDateTime.now())) {
+            return;
+        }
+        String key = cityByTheatre.get(show.getTheatreId());
+        City city = key == null ? null : cities.get(key);
+        if (city != null) {
+            Map<Long, ShowResponse> shows = new HashMap<>(city.shows());
+            shows.put(show.getId(), show);
+            cities.put(key, city.with(city.theatres(), shows));
+            cityByShow.put(show.getId(), key);
+        }
+    }
+
+    private void removeShow(Long showId) {
+        String key = cityByShow.remove(showId);
+        City city = key == null ? null : cities.get(key);
+        if (city != null && city.shows().containsKey(showId)) {
+            Map<Long, ShowResponse> shows = new HashMap<>(city.shows());
+            shows.remove(showId);
+            cities.put(key, city.with(city.theatres(), shows));
+        }
+    }
+
+    /**
+     * Lays out a city snapshot without any lock. Past shows found on the way are
+     * pruned from the city, unless a writer replaced it meanwhile.
+     */
+    private Layout layout(String key, City city) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime firstStart = null;
+        List<Long> past = new ArrayList<>();
+        Map<String, List<ShowResponse>> byMovie = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ShowResponse show : city.shows().values()) {
+            LocalDateTime start = LocalDateTime.of(show.getDate(), show.getTime());
+            if (start.isBefore(now)) {
+                past.add(show.getId());
+                continue;
+            }
+            if (firstStart == null || start.isBefore(firstStart)) {
+                firstStart = start;
+            }
+            byMovie.computeIfAbsent(show.getMovieTitle(), title -> new ArrayList<>()).add(show);
+        }
+
+        City laidOut = city;
+        if (!past.isEmpty()) {
+            Map<Long, ShowResponse> shows = new HashMap<>(city.shows());
+            past.forEach(shows::remove);
+            City pruned = city.with(city.theatres(), shows);
+            if (cities.replace(key, city, pruned)) {
+                past.forEach(showId -> cityByShow.remove(showId, key));
+                laidOut = pruned;
+            }
+        }
+
+        List<MovieLayout> movies = new ArrayList<>(byMovie.size());
+        byMovie.forEach((title, movieShows) -> {
+            movieShows.sort(BY_START);
+            movies.add(new MovieLayout(
+                    title,
+                    (int) movieShows.stream().map(ShowResponse::getTheatreId).distinct().count(),
+                    movieShows.stream().map(ShowResponse::getPrice).min(BigDecimal::compareTo).orElse(null),
+                    List.copyOf(movieShows)));
+        });
+        return new Layout(laidOut, List.copyOf(city.theatres().values()), movies, firstStart);
+    }
+
+    private Rendered fill(Layout layout, long seats) {
+        List<CityMovieResponse> movies = new ArrayList<>(layout.movies().size());
+        for (MovieLayout movie : layout.movies()) {
+            List<ShowResponse> shows = new ArrayList<>(movie.shows().size());
+            int seatsAvailable = 0;
+            for (ShowResponse show : movie.shows()) {
+                ShowResponse live = withLiveSeats(show);
+                seatsAvailable += live.getSeatsAvailable();
+                shows.add(live);
+            }
+            movies.add(new CityMovieResponse(movie.title(), movie.theatreCount(), shows.size(), movie.minPrice(),
+                    seatsAvailable, shows));
+        }
+        return new Rendered(layout, seats, new CityShowsResponse(layout.city().name(), layout.theatres(), movies));
+    }
+
+    private ShowResponse withLiveSeats(ShowResponse show) {
+        int seats;
+        try {
+            seats = seatInventory.available(show.getId());
+        } catch (ResourceNotFoundException e) {
+            seats = show.getSeatsAvailable();
+        }
+        return new ShowResponse(show.getId(), show.getMovieTitle(), show.getTheatreId(), show.getDate(),
+                show.getTime(), show.getPrice(), seats, show.getLanguage(), show.getScreen());
+    }
+
+    private ShowResponse mapToResponse(ShowView show) {
+        LocalDateTime startTime = show.startTime();
+        return new ShowResponse(
+            show.id(),
+            show.movieTitle(),
+            show.theatreId(),
+            startTime.toLocalDate(),
+            startTime.toLocalTime(),
+            show.price(),
+            show.seatsAvailable(),
+            show.language(),
+            show.screen()
+        );
+    }
+
+    private TheatreResponse mapToResponse(TheatreView theatre) {
+        return new TheatreResponse(
+            theatre.id(),
+            theatre.name(),
+            theatre.city(),
+            theatre.address(),
+            theatre.totalSeats()
+        );
+    }
+
+    /**
+     * One city's theatres and upcoming shows, never mutated: writers replace it
+     * whole. Compared by identity, so a page knows whether it is still current.
+     */
+    private static final class City {
+        private final String name;
+        private final Map<Long, TheatreResponse> theatres;
+        private final Map<Long, ShowResponse> shows;
+
+        private City(String name, Map<Long, TheatreResponse> theatres, Map<Long, ShowResponse> shows) {
+            this.name = name;
+            this.theatres = Collections.unmodifiableMap(theatres);
+            this.shows = Collections.unmodifiableMap(shows);
+        }
+
+        String name() {
+            return name;
+        }
+
+        Map<Long, TheatreResponse> theatres() {
+            return theatres;
+        }
+
+        Map<Long, ShowResponse> shows() {
+            return shows;
+        }
+
+        City with(Map<Long, TheatreResponse> theatres, Map<Long, ShowResponse> shows) {
+            return new City(name, theatres, shows);
+        }
+    }
+
+    /**
+     * A city's shows grouped by movie and sorted, valid while the city is not
+     * replaced and until {@code firstStart}.
+     */
+    private record Layout(City city, List<TheatreResponse> theatres, List<MovieLayout> movies,
+                          LocalDateTime firstStart) {
+
+        boolean isCurrent(City current) {
+            return city == current && (firstStart == null || LocalDateTime.now().isBefore(firstStart));
+        }
+    }
+
+    private record MovieLayout(String title, int theatreCount, BigDecimal minPrice, List<ShowResponse> shows) {
+    }
+
+    /**
+     * A layout filled with the seat counts current as of the city's {@code seats}-th seat change.
+     */
+    private record Rendered(Layout layout, long seats, CityShowsResponse response) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ExportFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    void exportBookings(ExportFilter filter, OutputStream out) throws IOException;
+    void exportShows(ExportFilter filter, OutputStream out) throws IOException;
+    void validate(ExportFilter filter);
+}
@@ -0,0 +1,147 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ExportFilter;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.repository.ExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes bookings and shows as newline-delimited JSON, one object per row,
+ * straight from a JDBC cursor to the output stream. Objects have the same
+ * fields as {@code BookingResponse} and {@code ShowResponse}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void validate(ExportFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (filter.getStatus() != null) {
+            try {
+                filter.setStatus(Booking.BookingStatus.valueOf(filter.getStatus().toUpperCase(Locale.ROOT)).name());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid booking status: " + filter.getStatus());
+            }
+        }
+    }
+
+    @Override
+    public void exportBookings(ExportFilter filter, OutputStream out) throws IOException {
+        try (JsonGenerator json = generator(out)) {
+            Counter rows = new Counter();
+            exportRepository.forEachBooking(filter, rs -> write(json, rows, () -> {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong("id"));
+                json.writeNumberField("userId", rs.getLong("user_id"));
+                json.writeNumberField("showId", rs.getLong("show_id"));
+                json.writeNumberField("seats", rs.getInt("seats"));
+                json.writeNumberField("totalPrice", rs.getBigDecimal("total_price").doubleValue());
+                json.writeStringField("status", rs.getString("status"));
+                writeDateTime(json, "bookingTime", rs.getTimestamp("booking_time"));
+                json.writeArrayFieldStart("seatsSelected");
+                for (String seat : SeatMapRegistry.parseSeatNumbers(rs.getString("seat_numbers"))) {
+                    json.writeString(seat);
+                }
+                json.writeEndArray();
+                writeDateTime(json, "holdExpiresAt", rs.getTimestamp("hold_expires_at"));
+                json.writeEndObject();
+            }));
+            endLine(json, rows);
+            log.info("Exported {} bookings", rows.value);
+        }
+    }
+
+    @Override
+    public void exportShows(ExportFilter filter, OutputStream out) throws IOException {
+        try (JsonGenerator json = generator(out)) {
+            Counter rows = new Counter();
+            exportRepository.forEachShow(filter, rs -> write(json, rows, () -> {
+                Timestamp start = rs.getTimestamp("start_time");
+                BigDecimal price = rs.getBigDecimal("price");
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong("id"));
+                json.writeStringField("movieTitle", rs.getString("movie_title"));
+                json.writeNumberField("theatreId", rs.getLong("theatre_id"));
+                json.writeStringField("date", start == null ? null : DATE.format(start.toLocalDateTime()));
+                json.writeStringField("time", start == null ? null : TIME.format(start.toLocalDateTime()));
+                json.writeNumberField("price", price);
+                json.writeNumberField("seatsAvailable", rs.getInt("seats_available"));
+                json.writeStringField("language", rs.getString("language"));
+                json.writeStringField("screen", rs.getString("screen"));
+                json.writeEndObject();
+            }));
+            endLine(json, rows);
+            log.info("Exported {} shows", rows.value);
+        }
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // One object per line, no enclosing array
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return json;
+    }
+
+    private static void write(JsonGenerator json, Counter rows, RowWriter writer) throws SQLException {
+        try {
+            writer.write();
+            if (++rows.value % FLUSH_EVERY == 0) {
+                json.flush();
+            }
+        } catch (IOException e) {
+            // Usually the client went away; abort the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void endLine(JsonGenerator json, Counter rows) throws IOException {
+        // The pretty printer only separates values; terminate the last line too
+        if (rows.value > 0) {
+            json.writeRaw('\n');
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator json, String field, Timestamp value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeStringField(field, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.toLocalDateTime()));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write() throws IOException, SQLException;
+    }
+
+    private static final class Counter {
+        private long value;
+    }
+}
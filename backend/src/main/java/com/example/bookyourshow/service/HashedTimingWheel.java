@@ -0,0 +1,115 @@
+package com.example.bookyourshow.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck) keyed by a value such as a booking id.
+ * <p>
+ * {@link #schedule} and {@link #cancel} are O(1) and safe from any thread; they
+ * only touch a concurrent map and a hand-off queue. {@link #tick} must be called
+ * from a single thread once per tick: it moves newly scheduled entries into
+ * their buckets and hands everything due in the current bucket to the expiry
+ * callback as one batch.
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Timeout<K>>[] buckets;
+    private final Queue<Timeout<K>> pending = new ConcurrentLinkedQueue<>();
+    private final Map<K, Timeout<K>> active = new ConcurrentHashMap<>();
+    private final Consumer<List<K>> onExpired;
+
+    private final long startMillis;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, Consumer<List<K>> onExpired) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new LinkedList<>();
+        }
+        this.onExpired = onExpired;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        Timeout<K> timeout = new Timeout<>(key, deadlineMillis);
+        Timeout<K> previous = active.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pending.add(timeout);
+    }
+
+    public void cancel(K key) {
+        Timeout<K> timeout = active.remove(key);
+        if (timeout != null) {
+            timeout.cancelled = true;
+        }
+    }
+
+    public int size() {
+        return active.size();
+    }
+
+    /**
+     * Advances the wheel by one tick. Not thread-safe; call from the ticker thread only.
+     */
+    public void tick() {
+        transferPending();
+
+        List<K> expired = new ArrayList<>();
+        Iterator<Timeout<K>> it = buckets[(int) (tick % buckets.length)].iterator();
+        while (it.hasNext()) {
+            Timeout<K> timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.rounds <= 0) {
+                it.remove();
+                if (active.remove(timeout.key, timeout)) {
+                    expired.add(timeout.key);
+                }
+            } else {
+                timeout.rounds--;
+            }
+        }
+        tick++;
+
+        if (!expired.isEmpty()) {
+            onExpired.accept(expired);
+        }
+    }
+
+    private void transferPending() {
+        Timeout<K> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long dueTick = Math.max(tick, (timeout.deadlineMillis - startMillis + tickMillis - 1) / tickMillis);
+            timeout.rounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick % buckets.length)].add(timeout);
+        }
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineMillis;
+        private long rounds;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
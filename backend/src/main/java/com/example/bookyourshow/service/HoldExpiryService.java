@@ -0,0 +1,177 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.BookingResponse;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.event.BookingChangedEvent;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires seat holds from an in-process {@link HashedTimingWheel}.
+ * <p>
+ * Each hold is one wheel entry; a single ticker thread collects the holds that
+ * are due and cancels them in batches, returning their seats with one update
+ * per show. Outstanding holds are re-armed from the bookings table once at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryService {
+
+    private final BookingRepository bookingRepository;
+    private final ShowRepository showRepository;
+    private final SeatInventory seatInventory;
+    private final SeatMapRegistry seatMapRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.holds.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${app.holds.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.holds.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${app.holds.expiry-batch-size:500}")
+    private int batchSize;
+
+    private HashedTimingWheel<Long> wheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        wheel = new HashedTimingWheel<>(tickMillis, wheelSize, this::expire);
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public LocalDateTime newExpiry() {
+        return LocalDateTime.now().plusSeconds(ttlSeconds);
+    }
+
+    public void schedule(Long bookingId, LocalDateTime expiresAt) {
+        wheel.schedule(bookingId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public void cancel(Long bookingId) {
+        wheel.cancel(bookingId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rearm() {
+        List<Object[]> holds = ReplicaRouting.onPrimary(bookingRepository::findHoldExpirations);
+        for (Object[] hold : holds) {
+            // Holds imported without a deadline before imports required one expire right away
+            LocalDateTime expiresAt = hold[1] != null ? (LocalDateTime) hold[1] : LocalDateTime.now();
+            schedule((Long) hold[0], expiresAt);
+        }
+        if (!holds.isEmpty()) {
+            log.info("Re-armed {} seat holds", holds.size());
+        }
+    }
+
+    private void tick() {
+        try {
+            wheel.tick();
+        } catch (RuntimeException e) {
+            log.error("Hold expiry tick failed", e);
+        }
+    }
+
+    void expire(List<Long> bookingIds) {
+        for (int from = 0; from < bookingIds.size(); from += batchSize) {
+            List<Long> batch = bookingIds.subList(from, Math.min(from + batchSize, bookingIds.size()));
+            try {
+                expireBatch(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to expire {} holds, retrying on next tick", batch.size(), e);
+                long retryAt = System.currentTimeMillis() + tickMillis;
+                batch.forEach(id -> wheel.schedule(id, retryAt));
+            }
+        }
+    }
+
+    private void expireBatch(List<Long> bookingIds) {
+        Map<Long, Integer> seatsByShow = new HashMap<>();
+        Map<Long, List<int[]>> releasedByShow = new HashMap<>();
+        List<BookingResponse> expired = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Locks the rows so a concurrent confirm either wins or sees them cancelled
+            List<Booking> held = bookingRepository.findHeldForUpdate(bookingIds);
+            if (held.isEmpty()) {
+                return;
+            }
+            for (Booking booking : held) {
+                Long showId = booking.getShow().getId();
+                seatsByShow.merge(showId, booking.getSeats(), Integer::sum);
+                releasedByShow.computeIfAbsent(showId, id -> new ArrayList<>())
+                        .add(seatMapRegistry.indexesOf(showId, booking.getSeatNumbers()));
+                expired.add(expiredResponse(booking));
+            }
+            bookingRepository.cancelHolds(held.stream().map(Booking::getId).toList());
+            seatsByShow.forEach((showId, seats) -> {
+                showRepository.incrementSeats(showId, seats);
+                int[] released = releasedByShow.get(showId).stream().flatMapToInt(Arrays::stream).toArray();
+                seatMapRegistry.persist(showId, new int[0], released);
+            });
+        });
+
+        releasedByShow.forEach((showId, released) -> released.forEach(seats -> seatMapRegistry.release(showId, seats)));
+        seatsByShow.forEach(seatInventory::release);
+        expired.forEach(booking -> eventPublisher.publishEvent(
+                new BookingChangedEvent(BookingChangedEvent.Change.EXPIRED, booking)));
+        if (!seatsByShow.isEmpty()) {
+            log.info("Expired holds on {} shows, returning {} seats", seatsByShow.size(),
+                    seatsByShow.values().stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+
+    // The booking as cancelHolds leaves it; the entity itself still reads HELD
+    private static BookingResponse expiredResponse(Booking booking) {
+        return new BookingResponse(
+                booking.getId(),
+                booking.getUser().getId(),
+                booking.getShow().getId(),
+                booking.getSeats(),
+                booking.getTotalPrice().doubleValue(),
+                Booking.BookingStatus.CANCELLED.name(),
+                booking.getBookingTime(),
+                SeatMapRegistry.parseSeatNumbers(booking.getSeatNumbers()),
+                null
+        );
+    }
+}
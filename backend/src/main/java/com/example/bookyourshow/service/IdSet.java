@@ -0,0 +1,30 @@
+package com.example.bookyourshow.service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of entity ids that costs one bit per id for the usual dense, positive
+ * ids and falls back to a hash set for ids beyond {@code int} range. Not thread-safe.
+ */
+final class IdSet {
+
+    private final BitSet small = new BitSet();
+    private final Set<Long> large = new HashSet<>();
+
+    boolean add(long id) {
+        if (id >= 0 && id <= Integer.MAX_VALUE) {
+            if (small.get((int) id)) {
+                return false;
+            }
+            small.set((int) id);
+            return true;
+        }
+        return large.add(id);
+    }
+
+    boolean contains(long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE ? small.get((int) id) : large.contains(id);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.entity.IdempotencyRecord;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.exception.ConflictException;
+import com.example.bookyourshow.repository.IdempotencyRecordRepository;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored result of a request that carried an {@code Idempotency-Key}.
+ * <p>
+ * Results live in a size-bounded in-memory cache with a TTL, backed by the
+ * {@code idempotency_keys} table so replays survive restarts. Concurrent
+ * requests with the same key wait for the first one instead of running twice.
+ * <p>
+ * A key is claimed in the table before the request runs, by an insert that fails
+ * if the key exists, and the request fails if the claim cannot be written. The
+ * claim holds an empty response until the result replaces it; while it does,
+ * requests with the key are refused with {@code 409}. A request that fails drops
+ * its claim so it can be retried with the same key. A claim left behind by a crash,
+ * or by a result that could not be stored, is never run again: the request may
+ * have completed, so retries are refused until the key expires.
+ */
+@Component
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> cache;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.cache-size:100000}") long cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public record Outcome<T>(T response, boolean replayed) {
+    }
+
+    public <T> Outcome<T> execute(String operation, String idempotencyKey, Object request,
+                                  Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 128) {
+            throw new BadRequestException("Idempotency-Key must be 1 to 128 characters");
+        }
+        String key = operation + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        IdempotencyRecord stored = cache.getIfPresent(key);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            stored = ReplicaRouting.onPrimary(() -> repository.findById(key)).orElse(null);
+            if (stored != null && stored.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl))) {
+                if (isClaim(stored)) {
+                    checkSameRequest(stored, requestHash);
+                    throw new ConflictException("A request with this Idempotency-Key is still in progress");
+                }
+                cache.put(key, stored);
+                mine.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            if (stored != null) {
+                // Expired but not purged yet
+                repository.deleteById(key);
+            }
+            claim(key, requestHash);
+
+            T response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                unclaim(key);
+                throw e;
+            }
+            IdempotencyRecord record = new IdempotencyRecord(key, requestHash, toJson(response), LocalDateTime.now());
+            cache.put(key, record);
+            mine.complete(record);
+            try {
+                repository.complete(key, record.getResponseBody(), record.getCreatedAt());
+            } catch (DataAccessException e) {
+                // The operation succeeded; the claim stays, so retries are refused rather than run twice
+                log.error("Could not store the result of idempotency key {}: {}", key, e.getMessage());
+            }
+            return new Outcome<>(response, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteOlderThan(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void claim(String key, String requestHash) {
+        try {
+            repository.insertClaim(key, requestHash, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Claimed by a request on another instance
+            throw new ConflictException("A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private void unclaim(String key) {
+        try {
+            repository.deleteById(key);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}; retries are refused until it expires: {}", key, e.getMessage());
+        }
+    }
+
+    private static void checkSameRequest(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private static boolean isClaim(IdempotencyRecord record) {
+        return record.getResponseBody().isEmpty();
+    }
+
+    private <T> Outcome<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        checkSameRequest(record, requestHash);
+        try {
+            return new Outcome<>(objectMapper.readValue(record.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable", e);
+        }
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // The first attempt failed; surface the same error to the duplicate
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] body = request == null ? new byte[0] : toJson(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportResponse importData(InputStream in) throws IOException;
+}
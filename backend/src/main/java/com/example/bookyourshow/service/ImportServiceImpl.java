@@ -0,0 +1,682 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ImportResponse;
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.entity.User;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.event.TheatreChangedEvent;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.exception.ConflictException;
+import com.example.bookyourshow.repository.IdSequences;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.ShowView;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of users, theatres, shows and bookings in the {@code db.json} format:
+ * one JSON object with an array per section. Used to seed and restore environments.
+ * <p>
+ * The document is read with a streaming {@link JsonParser}, so memory does not grow
+ * with its size, and rows are written with {@code batchUpdate} in chunks of
+ * {@code app.import.chunk-size}, one transaction per chunk. Each section is written
+ * in order by its own chain of chunks: users and theatres load in parallel, shows
+ * wait for the theatres and bookings for the users and shows, so foreign keys hold
+ * at every commit. Sections must therefore come in that order in the document.
+ * <p>
+ * References are checked against the ids already in the tables and those earlier
+ * in the document; rows pointing at missing ones are skipped. A row whose id
+ * already exists updates it, so the last occurrence of an id wins. A chunk the
+ * database rejects is retried row by row, so one bad row only costs itself.
+ * <p>
+ * Shows get their seat map and capacity in the same transaction as their row: a
+ * new show starts with all its seats free, an updated one is resized like an
+ * admin edit. A new booking that is not cancelled gets seats appended to its
+ * show's map, as seatsAvailable does not count it. An existing booking keeps its
+ * seats: updates that would change its show, seat count or status are skipped. {@code HELD} bookings need a {@code holdExpiresAt} and are put on the
+ * hold timer once written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    private static final int MAX_LOGGED_SKIPS = 20;
+
+    private static final String SEAT_COLUMNS_SQL =
+            "UPDATE shows SET seat_capacity = ?, seats_per_row = ?, seat_map = ? WHERE id = ?";
+    private static final String SEAT_NUMBERS_SQL = "UPDATE bookings SET seat_numbers = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ShowRepository showRepository;
+    private final IdSequences idSequences;
+    private final SeatInventory seatInventory;
+    private final SeatMapRegistry seatMapRegistry;
+    private final HoldExpiryService holdExpiryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-pending-chunks:8}")
+    private int maxPendingChunks;
+
+    @Override
+    public ImportResponse importData(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Run run = new Run();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            run.parse(parser);
+            run.await();
+        } catch (JsonProcessingException e) {
+            run.cancel();
+            throw new BadRequestException("Malformed import document: " + e.getOriginalMessage());
+        } catch (IOException | RuntimeException e) {
+            run.cancel();
+            throw e;
+        } finally {
+            run.shutdown();
+            // Rows keep their ids from the document, so generated ids must start above them
+            idSequences.align();
+        }
+
+        ImportResponse response = run.response(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Imported in {} ms: inserted {}, updated {}, skipped {}",
+                response.getDurationMs(), response.getInserted(), response.getUpdated(), response.getSkipped());
+        return response;
+    }
+
+    /**
+     * A section of the document and how its rows are written. Both statements take
+     * the row's fields first and its id last.
+     */
+    private enum Section {
+        USERS("users", User.class,
+                "INSERT INTO users (name, email, phone, id, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                "UPDATE users SET name = ?, email = ?, phone = ? WHERE id = ?"),
+        THEATRES("theatres", Theatre.class,
+                "INSERT INTO theatres (name, city, city_key, address, total_seats, id) VALUES (?, ?, ?, ?, ?, ?)",
+                "UPDATE theatres SET name = ?, city = ?, city_key = ?, address = ?, total_seats = ? WHERE id = ?"),
+        SHOWS("shows", Show.class,
+                "INSERT INTO shows (movie_title, theatre_id, start_time, price, seats_available, language, screen, id, version)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                "UPDATE shows SET movie_title = ?, theatre_id = ?, start_time = ?, price = ?, seats_available = ?,"
+                        + " language = ?, screen = ?, version = version + 1 WHERE id = ?",
+                THEATRES),
+        BOOKINGS("bookings", Booking.class,
+                "INSERT INTO bookings (user_id, show_id, seats, seat_numbers, total_price, status, booking_time,"
+                        + " hold_expires_at, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                "UPDATE bookings SET user_id = ?, show_id = ?, seats = ?, seat_numbers = COALESCE(seat_numbers, ?), total_price = ?,"
+                        + " status = ?, booking_time = ?, hold_expires_at = ? WHERE id = ?",
+                USERS, SHOWS);
+
+        private final String table;
+        private final Class<?> entity;
+        private final String insertSql;
+        private final String updateSql;
+        private final List<Section> dependencies;
+
+        Section(String table, Class<?> entity, String insertSql, String updateSql, Section... dependencies) {
+            this.table = table;
+            this.entity = entity;
+            this.insertSql = insertSql;
+            this.updateSql = updateSql;
+            this.dependencies = List.of(dependencies);
+        }
+
+        static Section named(String name) {
+            for (Section section : values()) {
+                if (section.table.equals(name)) {
+                    return section;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * State of one import. Parsing runs on the caller's thread; chunks are written
+     * on a small pool, at most {@code app.import.max-pending-chunks} at a time.
+     */
+    private final class Run {
+        private final ExecutorService executor = Executors.newFixedThreadPool(
+                Section.values().length, new CustomizableThreadFactory("import-writer-"));
+        private final Semaphore permits = new Semaphore(maxPendingChunks);
+        private final Map<Section, IdSet> ids = new EnumMap<>(Section.class);
+        private final Map<Section, Writer> writers = new EnumMap<>(Section.class);
+        private volatile boolean cancelled;
+
+        void parse(JsonParser parser) throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadRequestException("Import must be a JSON object with an array per section");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Section section = Section.named(parser.currentName());
+                JsonToken token = parser.nextToken();
+                if (section == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (token != JsonToken.START_ARRAY) {
+                    throw new BadRequestException("\"" + section.table + "\" must be an array");
+                }
+                Writer writer = open(section);
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token == JsonToken.START_OBJECT) {
+                        writer.add(readFields(parser));
+                    } else {
+                        parser.skipChildren();
+                        writer.skip(null, "not an object");
+                    }
+                }
+                writer.flush();
+            }
+        }
+
+        private Writer open(Section section) {
+            if (writers.containsKey(section)) {
+                throw new BadRequestException("\"" + section.table + "\" appears more than once");
+            }
+            for (Section opened : writers.keySet()) {
+                if (opened.dependencies.contains(section)) {
+                    throw new BadRequestException("\"" + section.table + "\" must come before \"" + opened.table + "\"");
+                }
+            }
+            // Dependencies are fully parsed by now, so their chains are complete
+            CompletableFuture<?>[] after = section.dependencies.stream()
+                    .map(writers::get)
+                    .filter(writer -> writer != null)
+                    .map(writer -> writer.tail)
+                    .toArray(CompletableFuture<?>[]::new);
+            Writer writer = new Writer(section, ids(section), CompletableFuture.allOf(after));
+            writers.put(section, writer);
+            return writer;
+        }
+
+        private IdSet ids(Section section) {
+            return ids.computeIfAbsent(section, s -> {
+                IdSet existing = new IdSet();
+                jdbcTemplate.query("SELECT id FROM " + s.table, rs -> {
+                    existing.add(rs.getLong(1));
+                });
+                return existing;
+            });
+        }
+
+        void await() {
+            writers.values().forEach(writer -> join(writer.tail));
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        void shutdown() {
+            executor.shutdown();
+            try {
+                // Let a chunk in flight commit or roll back before the caller moves on
+                if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void failFast() {
+            for (Writer writer : writers.values()) {
+                if (writer.tail.isCompletedExceptionally()) {
+                    join(writer.tail);
+                }
+            }
+        }
+
+        private void join(CompletableFuture<?> future) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        ImportResponse response(long durationMs) {
+            return new ImportResponse(
+                    counts(writer -> writer.inserted.get()),
+                    counts(writer -> writer.updated.get()),
+                    counts(writer -> writer.skipped.get()),
+                    durationMs);
+        }
+
+        private Map<String, Long> counts(Function<Writer, Long> count) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            writers.forEach((section, writer) -> counts.put(section.table, count.apply(writer)));
+            return counts;
+        }
+
+        private Object[] row(Section section, long id, Map<String, String> fields) {
+            return switch (section) {
+                case USERS -> new Object[]{
+                        required(fields, "name"), required(fields, "email"), fields.get("phone"), id};
+                case THEATRES -> {
+                    String city = required(fields, "city");
+                    yield new Object[]{
+                            required(fields, "name"), city, Theatre.cityKey(city), fields.get("address"),
+                            fields.containsKey("totalSeats") ? Integer.parseInt(fields.get("totalSeats")) : 0, id};
+                }
+                case SHOWS -> new Object[]{
+                        required(fields, "movieTitle"),
+                        reference(fields, "theatreId", Section.THEATRES),
+                        LocalDateTime.of(LocalDate.parse(required(fields, "date")), LocalTime.parse(required(fields, "time"))),
+                        new BigDecimal(required(fields, "price")),
+                        Integer.parseInt(required(fields, "seatsAvailable")),
+                        fields.get("language"), fields.get("screen"), id};
+                case BOOKINGS -> {
+                    Booking.BookingStatus status = Booking.BookingStatus.valueOf(required(fields, "status").toUpperCase(Locale.ROOT));
+                    yield new Object[]{
+                            reference(fields, "userId", Section.USERS),
+                            reference(fields, "showId", Section.SHOWS),
+                            Integer.parseInt(required(fields, "seats")),
+                            fields.get("seatNumbers"),
+                            new BigDecimal(required(fields, "totalPrice")),
+                            status.name(),
+                            fields.containsKey("bookingTime") ? LocalDateTime.parse(fields.get("bookingTime")) : LocalDateTime.now(),
+                            holdExpiresAt(fields, status),
+                            id};
+                }
+            };
+        }
+
+        // A hold without a deadline would never expire, so it is rejected rather than guessed
+        private LocalDateTime holdExpiresAt(Map<String, String> fields, Booking.BookingStatus status) {
+            if (status != Booking.BookingStatus.HELD) {
+                return null;
+            }
+            if (!fields.containsKey("holdExpiresAt")) {
+                throw new IllegalArgumentException("HELD booking without holdExpiresAt");
+            }
+            return LocalDateTime.parse(fields.get("holdExpiresAt"));
+        }
+
+        private long reference(Map<String, String> fields, String field, Section section) {
+            Long id = parseId(fields.get(field));
+            if (id == null) {
+                throw new IllegalArgumentException("missing or invalid " + field);
+            }
+            if (!ids(section).contains(id)) {
+                throw new IllegalArgumentException(field + " " + id + " not found");
+            }
+            return id;
+        }
+
+        /**
+         * Collects one section's rows into chunks and chains their writes, so a
+         * section's chunks commit in document order.
+         */
+        private final class Writer {
+            private final Section section;
+            private final IdSet ids;
+            private CompletableFuture<?> tail;
+            private List<Object[]> inserts = new ArrayList<>();
+            private List<Object[]> updates = new ArrayList<>();
+            // Position in inserts of each id inserted by the current chunk
+            private final Map<Long, Integer> insertAt = new HashMap<>();
+            private final AtomicLong inserted = new AtomicLong();
+            private final AtomicLong updated = new AtomicLong();
+            private final AtomicLong skipped = new AtomicLong();
+
+            private Writer(Section section, IdSet ids, CompletableFuture<?> after) {
+                this.section = section;
+                this.ids = ids;
+                this.tail = after;
+            }
+
+            void add(Map<String, String> fields) {
+                Long id = parseId(fields.get("id"));
+                if (id == null) {
+                    skip(fields.get("id"), "missing or invalid id");
+                    return;
+                }
+                Object[] row;
+                try {
+                    row = row(section, id, fields);
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    skip(id, e.getMessage());
+                    return;
+                }
+                if (ids.add(id)) {
+                    insertAt.put(id, inserts.size());
+                    inserts.add(row);
+                } else if (insertAt.containsKey(id)) {
+                    inserts.set(insertAt.get(id), row);
+                } else {
+                    updates.add(row);
+                }
+                if (inserts.size() + updates.size() >= chunkSize) {
+                    flush();
+                }
+            }
+
+            void flush() {
+                if (inserts.isEmpty() && updates.isEmpty()) {
+                    return;
+                }
+                failFast();
+                List<Object[]> chunkInserts = inserts;
+                List<Object[]> chunkUpdates = updates;
+                inserts = new ArrayList<>();
+                updates = new ArrayList<>();
+                insertAt.clear();
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Import interrupted", e);
+                }
+                tail = tail.thenRunAsync(() -> write(chunkInserts, chunkUpdates), executor)
+                        .whenComplete((result, failure) -> permits.release());
+            }
+
+            void skip(Object id, String reason) {
+                long count = skipped.incrementAndGet();
+                if (count <= MAX_LOGGED_SKIPS) {
+                    log.warn("Skipped {} row {}: {}", section.table, id, reason);
+                } else if (count == MAX_LOGGED_SKIPS + 1) {
+                    log.warn("More {} rows skipped, see the import response for the count", section.table);
+                }
+            }
+
+            private void write(List<Object[]> chunkInserts, List<Object[]> chunkUpdates) {
+                if (cancelled) {
+                    throw new CancellationException("Import cancelled");
+                }
+                Map<Long, ShowResponse> before = section == Section.SHOWS && !chunkUpdates.isEmpty()
+                        ? ReplicaRouting.onPrimary(() -> showRepository.findViewsByIdIn(chunkUpdates.stream().map(Writer::id).toList()))
+                                .stream()
+                                .collect(Collectors.toMap(ShowView::id, ImportServiceImpl::mapToResponse))
+                        : Map.of();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (!chunkInserts.isEmpty()) {
+                            jdbcTemplate.batchUpdate(section.insertSql, chunkInserts);
+                            insertedSeats(chunkInserts);
+                        }
+                        if (!chunkUpdates.isEmpty()) {
+                            checkBookingUpdates(chunkUpdates);
+                            jdbcTemplate.batchUpdate(section.updateSql, chunkUpdates);
+                            chunkUpdates.forEach(this::updatedSeats);
+                        }
+                    });
+                    inserted.addAndGet(chunkInserts.size());
+                    updated.addAndGet(chunkUpdates.size());
+                } catch (DataAccessException | ConflictException e) {
+                    log.warn("Import of {} {} rows failed, retrying row by row: {}",
+                            chunkInserts.size() + chunkUpdates.size(), section.table, reason(e));
+                    chunkInserts.removeIf(row -> !writeRow(row, true));
+                    chunkUpdates.removeIf(row -> !writeRow(row, false));
+                }
+                evictCached(chunkUpdates);
+                written(chunkInserts, before);
+                written(chunkUpdates, before);
+            }
+
+            // Rows written over JDBC bypass Hibernate, so its entity and query caches are cleared by hand
+            private void evictCached(List<Object[]> chunkUpdates) {
+                if (section == Section.BOOKINGS) {
+                    // Bookings are not cached
+                    return;
+                }
+                Cache cache = entityManagerFactory.getCache();
+                for (Object[] row : chunkUpdates) {
+                    cache.evict(section.entity, id(row));
+                }
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+
+            private boolean writeRow(Object[] row, boolean insert) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (insert) {
+                            jdbcTemplate.update(section.insertSql, row);
+                            insertedSeats(List.<Object[]>of(row));
+                        } else {
+                            checkBookingUpdates(List.<Object[]>of(row));
+                            jdbcTemplate.update(section.updateSql, row);
+                            updatedSeats(row);
+                        }
+                    });
+                    (insert ? inserted : updated).incrementAndGet();
+                    return true;
+                } catch (DataAccessException | ConflictException e) {
+                    skip(id(row), reason(e));
+                    return false;
+                }
+            }
+
+            /**
+             * Gives new shows a seat map with all their seats free. The registry may
+             * still hold a map under a reused id, so that entry is dropped once the
+             * row commits and the next use loads the committed map.
+             */
+            private void insertedSeats(List<Object[]> rows) {
+                if (section == Section.BOOKINGS) {
+                    bookedSeats(rows);
+                    return;
+                }
+                if (section != Section.SHOWS) {
+                    return;
+                }
+                int seatsPerRow = seatMapRegistry.getDefaultSeatsPerRow();
+                List<Object[]> seatColumns = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    SeatMap map = new SeatMap(showResponse(row).getSeatsAvailable(), seatsPerRow);
+                    seatColumns.add(new Object[]{map.getCapacity(), seatsPerRow, map.toBytes(), id(row)});
+                }
+                jdbcTemplate.batchUpdate(SEAT_COLUMNS_SQL, seatColumns);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        rows.forEach(row -> seatMapRegistry.remove(id(row)));
+                    }
+                });
+            }
+
+            /**
+             * Appends the seats of new active bookings to their shows' maps, in show id
+             * order so chunks lock the show rows in a consistent order, and records the
+             * assigned seat numbers on the bookings.
+             */
+            private void bookedSeats(List<Object[]> rows) {
+                Map<Long, List<Object[]>> byShow = new TreeMap<>();
+                for (Object[] row : rows) {
+                    if (!Booking.BookingStatus.CANCELLED.name().equals(row[5])) {
+                        byShow.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add(row);
+                    }
+                }
+                List<Object[]> seatNumbers = new ArrayList<>();
+                byShow.forEach((showId, bookings) -> {
+                    List<String> assigned = seatMapRegistry.appendTaken(showId,
+                            bookings.stream().map(row -> (Integer) row[2]).toList());
+                    for (int i = 0; i < bookings.size(); i++) {
+                        bookings.get(i)[3] = assigned.get(i);
+                        seatNumbers.add(new Object[]{assigned.get(i), id(bookings.get(i))});
+                    }
+                });
+                if (!seatNumbers.isEmpty()) {
+                    jdbcTemplate.batchUpdate(SEAT_NUMBERS_SQL, seatNumbers);
+                }
+            }
+
+            /**
+             * Resizes an updated show so its imported seatsAvailable are free, keeping the
+             * seats its bookings hold; the registry picks the new size up on commit.
+             *
+             * @throws ConflictException if booked seats would fall outside the new capacity
+             */
+            private void updatedSeats(Object[] row) {
+                if (section != Section.SHOWS) {
+                    return;
+                }
+                ShowResponse show = showResponse(row);
+                showRepository.updateSeatCapacity(show.getId(), seatMapRegistry.resize(show.getId(), show.getSeatsAvailable()));
+            }
+
+            /**
+             * Locks the existing bookings an update touches and rejects the ones it would move
+             * to another show or give another seat count or status: their seats are held in
+             * the seat map and counts, which only the booking endpoints reconcile. A rejected
+             * chunk is retried row by row, which skips just those rows.
+             *
+             * @throws ConflictException naming the first such booking
+             */
+            private void checkBookingUpdates(List<Object[]> rows) {
+                if (section != Section.BOOKINGS) {
+                    return;
+                }
+                List<Long> bookingIds = rows.stream().map(Writer::id).distinct().toList();
+                Map<Long, Object[]> existing = new HashMap<>();
+                jdbcTemplate.query("SELECT id, show_id, seats, status FROM bookings WHERE id IN ("
+                                + String.join(", ", Collections.nCopies(bookingIds.size(), "?")) + ") FOR UPDATE",
+                        (RowCallbackHandler) rs -> existing.put(rs.getLong(1),
+                                new Object[]{rs.getLong(2), rs.getInt(3), rs.getString(4)}),
+                        bookingIds.toArray());
+                for (Object[] row : rows) {
+                    Object[] current = existing.get(id(row));
+                    if (current != null && !(current[0].equals(row[1]) && current[1].equals(row[2]) && current[2].equals(row[5]))) {
+                        throw new ConflictException("cannot change showId, seats or status of an existing booking");
+                    }
+                }
+            }
+
+            private static String reason(RuntimeException e) {
+                return e instanceof DataAccessException dataAccess
+                        ? dataAccess.getMostSpecificCause().getMessage()
+                        : e.getMessage();
+            }
+
+            // Caches and listings learn about imported rows the same way as about admin edits
+            private void written(List<Object[]> rows, Map<Long, ShowResponse> before) {
+                for (Object[] row : rows) {
+                    if (section == Section.THEATRES) {
+                        eventPublisher.publishEvent(new TheatreChangedEvent(id(row)));
+                    } else if (section == Section.SHOWS) {
+                        ShowResponse show = showResponse(row);
+                        seatInventory.reset(show.getId(), show.getSeatsAvailable());
+                        eventPublisher.publishEvent(new ShowChangedEvent(show.getId(), before.get(show.getId()), show));
+                    } else if (section == Section.BOOKINGS) {
+                        LocalDateTime holdExpiresAt = (LocalDateTime) row[7];
+                        if (holdExpiresAt != null) {
+                            holdExpiryService.schedule(id(row), holdExpiresAt);
+                        } else {
+                            // An imported status replaces a hold that may still be armed
+                            holdExpiryService.cancel(id(row));
+                        }
+                    }
+                }
+            }
+
+            private static long id(Object[] row) {
+                return (Long) row[row.length - 1];
+            }
+        }
+    }
+
+    private static Map<String, String> readFields(JsonParser parser) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                fields.put(name, parser.getText());
+            }
+        }
+        return fields;
+    }
+
+    private static String required(Map<String, String> fields, String field) {
+        String value = fields.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        return value;
+    }
+
+    // db.json mixes numeric and string ids
+    private static Long parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ShowResponse showResponse(Object[] row) {
+        LocalDateTime startTime = (LocalDateTime) row[2];
+        return new ShowResponse((Long) row[7], (String) row[0], (Long) row[1], startTime.toLocalDate(),
+                startTime.toLocalTime(), (BigDecimal) row[3], (Integer) row[4], (String) row[5], (String) row[6]);
+    }
+
+    private static ShowResponse mapToResponse(ShowView show) {
+        LocalDateTime startTime = show.startTime();
+        return new ShowResponse(show.id(), show.movieTitle(), show.theatreId(), startTime.toLocalDate(),
+                startTime.toLocalTime(), show.price(), show.seatsAvailable(), show.language(), show.screen());
+    }
+}
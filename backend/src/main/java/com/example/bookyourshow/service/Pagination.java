@@ -0,0 +1,57 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers shared by the list endpoints.
+ * <p>
+ * Pages are ordered by id and start after the {@code after} cursor. One row
+ * more than the page size is fetched so the last page is known without a
+ * count query. Page sizes are capped at {@code app.pagination.max-limit}.
+ */
+@Component
+public class Pagination {
+
+    @Value("${app.pagination.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${app.pagination.max-limit:1000}")
+    private int maxLimit;
+
+    public int limit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    public static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Fetch size for a page: one extra row to detect whether another page follows.
+     */
+    public static Pageable fetch(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <T> CursorPage<T> page(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, id.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes over read replicas. Users, bookings and shows written in the
+ * last {@code app.datasource.replicas.sticky-ms} are read from the primary, where
+ * a replica might still return the old rows. The window must be longer than
+ * {@code max-lag-ms}, the most lag a replica may have and still serve reads.
+ * <p>
+ * Shows also matter for {@link ShowCatalogue}: an entry reloaded from a replica
+ * right after a change would stay stale in the cache, so such reloads go to the
+ * primary. Does nothing when no replicas are configured.
+ */
+@Component
+public class ReadYourWrites {
+
+    public enum Kind { USER, BOOKING, SHOW }
+
+    private record Key(Kind kind, Long id) {
+    }
+
+    private final boolean enabled;
+    private final long stickyNanos;
+    private final Cache<Key, Boolean> recent;
+    private volatile long lastShowWrite;
+
+    public ReadYourWrites(@Value("${app.datasource.replicas.urls:}") String replicaUrls,
+                          @Value("${app.datasource.replicas.sticky-ms:3000}") long stickyMillis,
+                          @Value("${app.datasource.replicas.sticky-max-entries:100000}") long maxEntries) {
+        this.enabled = !replicaUrls.isBlank();
+        this.stickyNanos = Duration.ofMillis(stickyMillis).toNanos();
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyMillis))
+                .maximumSize(maxEntries)
+                .build();
+        this.lastShowWrite = System.nanoTime() - stickyNanos;
+    }
+
+    public void wrote(Kind kind, Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        recent.put(new Key(kind, id), Boolean.TRUE);
+        if (kind == Kind.SHOW) {
+            lastShowWrite = System.nanoTime();
+        }
+    }
+
+    /**
+     * Runs {@code query} on the primary if {@code id} was written within the window.
+     */
+    public <T> T read(Kind kind, Long id, Supplier<T> query) {
+        return enabled && recent.getIfPresent(new Key(kind, id)) != null ? ReplicaRouting.onPrimary(query) : query.get();
+    }
+
+    /**
+     * Runs {@code query} on the primary if any of {@code ids} was written within the window.
+     */
+    public <T> T read(Kind kind, Collection<Long> ids, Supplier<T> query) {
+        if (enabled) {
+            for (Long id : ids) {
+                if (recent.getIfPresent(new Key(kind, id)) != null) {
+                    return ReplicaRouting.onPrimary(query);
+                }
+            }
+        }
+        return query.get();
+    }
+
+    /**
+     * Runs a show listing {@code query} on the primary if any show was written within the window.
+     */
+    public <T> T readShows(Supplier<T> query) {
+        return enabled && System.nanoTime() - lastShowWrite < stickyNanos ? ReplicaRouting.onPrimary(query) : query.get();
+    }
+
+    // Ahead of the caches, so a reload triggered by their eviction already sees the mark
+    @Order(CatalogueVersions.BEFORE_VERSIONS - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        wrote(Kind.SHOW, event.showId());
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS - 1)
+    @EventListener
+    public void onSeatsBooked(SeatsBookedEvent event) {
+        wrote(Kind.SHOW, event.showId());
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS - 1)
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        wrote(Kind.SHOW, event.showId());
+    }
+}
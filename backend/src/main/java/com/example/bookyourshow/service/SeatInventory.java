@@ -0,0 +1,195 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.event.SeatsBookedEvent;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.exception.ResourceNotFoundException;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory admission counters for show seats, keyed by show id.
+ * <p>
+ * Bookings reserve seats here first so that sold-out requests are rejected
+ * without opening a transaction. The database stays authoritative: the
+ * reservation is persisted with a conditional decrement on
+ * {@code shows.seats_available}, and the counters are reconciled with that
+ * column at startup and periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventory {
+
+    private final ShowRepository showRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves seats for a show. Returns false if not enough seats are left.
+     *
+     * @throws ResourceNotFoundException if the show does not exist
+     */
+    public boolean tryReserve(Long showId, int seats) {
+        Counter counter = counterFor(showId);
+        int current;
+        do {
+            current = counter.available.get();
+            if (current < seats) {
+                return false;
+            }
+        } while (!counter.available.compareAndSet(current, current - seats));
+        counter.inFlight.addAndGet(seats);
+        return true;
+    }
+
+    /**
+     * Marks a reservation as persisted (or rolled back when {@code committed} is false,
+     * in which case the seats are returned to the counter).
+     */
+    public void complete(Long showId, int seats, boolean committed) {
+        Counter counter = counters.get(showId);
+        if (counter == null) {
+            return;
+        }
+        counter.inFlight.addAndGet(-seats);
+        if (committed) {
+            eventPublisher.publishEvent(new SeatsBookedEvent(showId, seats));
+        } else {
+            counter.available.addAndGet(seats);
+            eventPublisher.publishEvent(new SeatsReleasedEvent(showId));
+        }
+    }
+
+    /**
+     * Returns seats to a show after a cancellation or a reduced booking.
+     */
+    public void release(Long showId, int seats) {
+        Counter counter = counters.get(showId);
+        if (counter != null) {
+            counter.available.addAndGet(seats);
+            eventPublisher.publishEvent(new SeatsReleasedEvent(showId));
+        }
+    }
+
+    public int available(Long showId) {
+        return counterFor(showId).available.get();
+    }
+
+    /**
+     * Seats available for a show, or {@code fallback} when it has no counter; never queries.
+     */
+    public int availableOr(Long showId, int fallback) {
+        Counter counter = counters.get(showId);
+        return counter != null ? counter.available.get() : fallback;
+    }
+
+    /**
+     * Seats available per show, in the order of {@code showIds}. Shows without a
+     * counter are left out instead of being loaded, so this never queries.
+     */
+    public Map<Long, Integer> snapshot(Collection<Long> showIds) {
+        Map<Long, Integer> snapshot = new LinkedHashMap<>();
+        for (Long showId : showIds) {
+            Counter counter = counters.get(showId);
+            if (counter != null) {
+                snapshot.put(showId, counter.available.get());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the counter for a show, e.g. after an admin edit of seatsAvailable.
+     */
+    public void reset(Long showId, int seatsAvailable) {
+        Counter counter = counters.computeIfAbsent(showId, id -> new Counter());
+        int available = seatsAvailable - counter.inFlight.get();
+        if (counter.available.getAndSet(available) < available) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(showId));
+        }
+    }
+
+    /**
+     * Re-reads a single show's counter from the database.
+     */
+    public void refresh(Long showId) {
+        ReplicaRouting.onPrimary(() -> showRepository.findSeatsAvailableById(showId))
+                .ifPresentOrElse(seats -> reset(showId, seats), () -> remove(showId));
+    }
+
+    public void remove(Long showId) {
+        counters.remove(showId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> rows = ReplicaRouting.onPrimary(showRepository::findAllSeatsAvailable);
+        for (Object[] row : rows) {
+            reset((Long) row[0], (Integer) row[1]);
+        }
+        log.info("Seat inventory loaded for {} shows", rows.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.inventory.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        int drifted = 0;
+        for (Object[] row : ReplicaRouting.onPrimary(showRepository::findAllSeatsAvailable)) {
+            Long showId = (Long) row[0];
+            int persisted = (Integer) row[1];
+            Counter counter = counters.get(showId);
+            if (counter == null) {
+                continue;
+            }
+            int expected = persisted - counter.inFlight.get();
+            int previous = counter.available.getAndSet(expected);
+            if (previous != expected) {
+                drifted++;
+                if (previous < expected) {
+                    eventPublisher.publishEvent(new SeatsReleasedEvent(showId));
+                }
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Seat inventory reconciled {} drifted shows", drifted);
+        }
+    }
+
+    private Counter counterFor(Long showId) {
+        Counter counter = counters.get(showId);
+        if (counter != null) {
+            return counter;
+        }
+        Integer seatsAvailable = ReplicaRouting.onPrimary(() -> showRepository.findSeatsAvailableById(showId))
+                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + showId));
+        return counters.computeIfAbsent(showId, id -> new Counter(seatsAvailable));
+    }
+
+    private static final class Counter {
+        private final AtomicInteger available;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Counter() {
+            this(0);
+        }
+
+        private Counter(int available) {
+            this.available = new AtomicInteger(available);
+        }
+    }
+}
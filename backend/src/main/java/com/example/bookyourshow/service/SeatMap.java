@@ -0,0 +1,211 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Packed bitset of the seats of one show; a set bit means the seat is taken.
+ * <p>
+ * Seats are labelled by row letter and 1-based number ("A1", "B12", ..., "AA3"),
+ * with {@code seatsPerRow} seats per row. The serialized form packs seat {@code i}
+ * into bit {@code i % 8} of byte {@code i / 8}, so 2,000 seats take 250 bytes.
+ * Not thread-safe; {@link SeatMapRegistry} guards each map with a lock.
+ */
+public class SeatMap {
+
+    private final int capacity;
+    private final int seatsPerRow;
+    private final long[] words;
+
+    public SeatMap(int capacity, int seatsPerRow) {
+        this(capacity, seatsPerRow, new long[wordCount(capacity)]);
+    }
+
+    private SeatMap(int capacity, int seatsPerRow, long[] words) {
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        this.words = words;
+    }
+
+    public static SeatMap fromBytes(byte[] bytes, int capacity, int seatsPerRow) {
+        long[] words = new long[wordCount(capacity)];
+        int limit = Math.min(bytes.length, (capacity + 7) / 8);
+        for (int i = 0; i < limit; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return new SeatMap(capacity, seatsPerRow, words);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[(capacity + 7) / 8];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int takenCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int freeCount() {
+        return capacity - takenCount();
+    }
+
+    public boolean isTaken(int seat) {
+        return (words[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Claims all of the given seats, or none of them if any is already taken.
+     * Returns the seats that were already taken (empty on success).
+     */
+    public List<Integer> claim(int[] seats) {
+        List<Integer> taken = new ArrayList<>();
+        for (int seat : seats) {
+            if (isTaken(seat)) {
+                taken.add(seat);
+            }
+        }
+        if (taken.isEmpty()) {
+            take(seats);
+        }
+        return taken;
+    }
+
+    /**
+     * Marks the given seats taken, whether or not they already were.
+     */
+    public void take(int[] seats) {
+        for (int seat : seats) {
+            words[seat >>> 6] |= 1L << seat;
+        }
+    }
+
+    /**
+     * Claims the first {@code count} free seats, or returns null if there are not enough.
+     */
+    public int[] claimAny(int count) {
+        int[] seats = new int[count];
+        int found = 0;
+        for (int w = 0; w < words.length && found < count; w++) {
+            long free = ~words[w];
+            while (free != 0 && found < count) {
+                int seat = (w << 6) + Long.numberOfTrailingZeros(free);
+                if (seat >= capacity) {
+                    break;
+                }
+                seats[found++] = seat;
+                free &= free - 1;
+            }
+        }
+        if (found < count) {
+            return null;
+        }
+        claim(seats);
+        return seats;
+    }
+
+    public void release(int[] seats) {
+        for (int seat : seats) {
+            words[seat >>> 6] &= ~(1L << seat);
+        }
+    }
+
+    /**
+     * Returns a copy with a new capacity, or null if a taken seat would fall outside it.
+     */
+    public SeatMap resize(int newCapacity) {
+        for (int seat = newCapacity; seat < capacity; seat++) {
+            if (isTaken(seat)) {
+                return null;
+            }
+        }
+        long[] resized = Arrays.copyOf(words, wordCount(newCapacity));
+        if (newCapacity < capacity && (newCapacity & 63) != 0) {
+            resized[resized.length - 1] &= (1L << newCapacity) - 1;
+        }
+        return new SeatMap(newCapacity, seatsPerRow, resized);
+    }
+
+    public int[] toIndexes(Collection<String> labels) {
+        int[] seats = new int[labels.size()];
+        int i = 0;
+        for (String label : labels) {
+            seats[i++] = toIndex(label);
+        }
+        if (Arrays.stream(seats).distinct().count() != seats.length) {
+            throw new BadRequestException("Duplicate seats selected: " + labels);
+        }
+        return seats;
+    }
+
+    public int toIndex(String label) {
+        String normalized = label == null ? "" : label.trim().toUpperCase();
+        int split = 0;
+        while (split < normalized.length() && Character.isLetter(normalized.charAt(split))) {
+            split++;
+        }
+        if (split == 0 || split == normalized.length()) {
+            throw new BadRequestException("Invalid seat: " + label);
+        }
+        int row = 0;
+        for (int i = 0; i < split; i++) {
+            char c = normalized.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                throw new BadRequestException("Invalid seat: " + label);
+            }
+            row = row * 26 + (c - 'A' + 1);
+        }
+        int number;
+        try {
+            number = Integer.parseInt(normalized.substring(split));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid seat: " + label);
+        }
+        int seat = (row - 1) * seatsPerRow + (number - 1);
+        if (number < 1 || number > seatsPerRow || seat >= capacity) {
+            throw new BadRequestException("Seat does not exist: " + label);
+        }
+        return seat;
+    }
+
+    public String toLabel(int seat) {
+        int row = seat / seatsPerRow + 1;
+        StringBuilder letters = new StringBuilder();
+        while (row > 0) {
+            row--;
+            letters.insert(0, (char) ('A' + row % 26));
+            row /= 26;
+        }
+        return letters.append(seat % seatsPerRow + 1).toString();
+    }
+
+    public List<String> toLabels(int[] seats) {
+        List<String> labels = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            labels.add(toLabel(seat));
+        }
+        return labels;
+    }
+
+    private static int wordCount(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+}
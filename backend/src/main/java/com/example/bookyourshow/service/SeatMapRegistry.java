@@ -0,0 +1,383 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.SeatMapResponse;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.exception.ConflictException;
+import com.example.bookyourshow.exception.ResourceNotFoundException;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.SeatColumns;
+import com.example.bookyourshow.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Holds the {@link SeatMap} of every show in memory and serializes claims per show.
+ * <p>
+ * Seats are claimed here before the booking transaction starts, and inside it
+ * the transaction's own seats are applied to the committed {@code shows.seat_map}
+ * (see {@link #persist}). Released seats are only returned to the in-memory map
+ * after the releasing transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapRegistry {
+
+    private static final String SEPARATOR = ",";
+
+    private final ShowRepository showRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.seating.default-seats-per-row:20}")
+    private int defaultSeatsPerRow;
+
+    private final Map<Long, Entry> maps = new ConcurrentHashMap<>();
+
+    public int getDefaultSeatsPerRow() {
+        return defaultSeatsPerRow;
+    }
+
+    /**
+     * Claims the selected seats, or the first free ones when none are selected.
+     *
+     * @throws BadRequestException if the selection is invalid or does not match {@code seats}
+     * @throws ConflictException if any selected seat is already taken
+     */
+    public int[] claim(Long showId, List<String> selected, int seats) {
+        return withLock(showId, map -> {
+            if (selected == null || selected.isEmpty()) {
+                int[] claimed = map.claimAny(seats);
+                if (claimed == null) {
+                    throw new ConflictException("Not enough seats available. Available: " + map.freeCount() + ", Requested: " + seats);
+                }
+                return claimed;
+            }
+            if (selected.size() != seats) {
+                throw new BadRequestException("Selected " + selected.size() + " seats but requested " + seats);
+            }
+            int[] indexes = map.toIndexes(selected);
+            List<Integer> taken = map.claim(indexes);
+            if (!taken.isEmpty()) {
+                throw new ConflictException("Seats already booked: " + map.toLabels(taken.stream().mapToInt(Integer::intValue).toArray()));
+            }
+            return indexes;
+        });
+    }
+
+    /**
+     * Claims exactly the given seat indexes.
+     */
+    public void claimExact(Long showId, int[] seats) {
+        withLock(showId, map -> {
+            List<Integer> taken = map.claim(seats);
+            if (!taken.isEmpty()) {
+                throw new ConflictException("Seats already booked: " + map.toLabels(taken.stream().mapToInt(Integer::intValue).toArray()));
+            }
+            return null;
+        });
+    }
+
+    public void release(Long showId, int[] seats) {
+        if (seats.length == 0) {
+            return;
+        }
+        Entry entry = maps.get(showId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.lock();
+        try {
+            entry.map.release(seats);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes {@code shows.seat_map} as last committed with {@code claimed} taken and
+     * {@code released} freed, inside the caller's transaction. The in-memory map also
+     * holds claims of transactions still in flight, so it is never written as is; the
+     * row is read with a lock instead, which also orders concurrent writers of one show.
+     */
+    public void persist(Long showId, int[] claimed, int[] released) {
+        SeatMap map = committed(showId);
+        map.release(released);
+        map.take(claimed);
+        showRepository.updateSeatMap(showId, map.toBytes());
+    }
+
+    /**
+     * Changes a show's capacity so that {@code seatsAvailable} seats are free, keeping
+     * taken seats, and returns the new capacity. The committed {@code shows.seat_map} is
+     * resized inside the caller's transaction; the in-memory map only once it commits.
+     * Seats a shrink removes are claimed until then, so no booking takes them meanwhile,
+     * and handed back if the transaction rolls back.
+     *
+     * @throws ConflictException if booked seats would fall outside the new capacity
+     */
+    public int resize(Long showId, int seatsAvailable) {
+        int[] capacity = new int[1];
+        int[] removed = withLock(showId, map -> {
+            capacity[0] = map.takenCount() + seatsAvailable;
+            if (map.resize(capacity[0]) == null) {
+                throw new ConflictException("Cannot reduce seats below already booked seat positions");
+            }
+            int[] cut = IntStream.range(capacity[0], map.getCapacity()).toArray();
+            map.take(cut);
+            return cut;
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    install(showId, removed, capacity[0]);
+                } else {
+                    release(showId, removed);
+                }
+            }
+        });
+
+        SeatMap resized = committed(showId).resize(capacity[0]);
+        if (resized == null) {
+            throw new ConflictException("Cannot reduce seats below already booked seat positions");
+        }
+        showRepository.updateSeatMap(showId, resized.toBytes());
+        return capacity[0];
+    }
+
+    private void install(Long showId, int[] removed, int capacity) {
+        Entry entry = maps.get(showId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.lock();
+        try {
+            entry.map.release(removed);
+            SeatMap resized = entry.map.resize(capacity);
+            if (resized != null) {
+                entry.map = resized;
+            } else {
+                // Not expected, as removed seats stayed claimed; reload the committed map instead
+                maps.remove(showId, entry);
+            }
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * Grows a show's map by the seats of imported bookings, which the show's
+     * seatsAvailable does not count, takes one run of seats per entry of
+     * {@code seatCounts} and returns each run's seat numbers. The seats are claimed
+     * in the in-memory map first, as a booking's would be, then the committed map
+     * and capacity are written inside the caller's transaction. A rollback hands the
+     * seats back and restores the capacity.
+     *
+     * @throws ConflictException if the show is being resized meanwhile
+     */
+    public List<String> appendTaken(Long showId, List<Integer> seatCounts) {
+        SeatMap committed = committed(showId);
+        int from = committed.getCapacity();
+        int capacity = from + seatCounts.stream().mapToInt(Integer::intValue).sum();
+        Entry entry = entry(showId);
+        List<int[]> runs = new ArrayList<>(seatCounts.size());
+        entry.lock.lock();
+        try {
+            if (entry.map.getCapacity() != from) {
+                throw new ConflictException("Seat map of show " + showId + " is being resized");
+            }
+            SeatMap grown = entry.map.resize(capacity);
+            for (int count : seatCounts) {
+                runs.add(grown.claimAny(count));
+            }
+            entry.map = grown;
+        } finally {
+            entry.lock.unlock();
+        }
+        int[] claimed = runs.stream().flatMapToInt(Arrays::stream).toArray();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    shrink(showId, entry, claimed, from);
+                }
+            }
+        });
+
+        SeatMap written = committed.resize(capacity);
+        written.take(claimed);
+        showRepository.updateSeatMap(showId, written.toBytes());
+        showRepository.updateSeatCapacity(showId, capacity);
+        return runs.stream().map(run -> String.join(SEPARATOR, written.toLabels(run))).toList();
+    }
+
+    private void shrink(Long showId, Entry entry, int[] claimed, int capacity) {
+        entry.lock.lock();
+        try {
+            entry.map.release(claimed);
+            SeatMap shrunk = entry.map.resize(capacity);
+            if (shrunk != null) {
+                entry.map = shrunk;
+            } else {
+                // A booking took one of the added seats meanwhile; reload the committed map instead
+                maps.remove(showId, entry);
+            }
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * The show's map as last committed, read with a lock on the show row.
+     */
+    private SeatMap committed(Long showId) {
+        SeatColumns row = showRepository.findSeatColumnsForUpdate(showId)
+                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + showId));
+        if (row.seatMap() == null || row.seatCapacity() == null) {
+            // Not migrated yet: nothing committed to start from
+            return withLock(showId, live -> new SeatMap(live.getCapacity(), live.getSeatsPerRow()));
+        }
+        int seatsPerRow = row.seatsPerRow() != null ? row.seatsPerRow() : defaultSeatsPerRow;
+        return SeatMap.fromBytes(row.seatMap(), row.seatCapacity(), seatsPerRow);
+    }
+
+    public void register(Long showId, SeatMap map) {
+        maps.put(showId, new Entry(map));
+    }
+
+    public void remove(Long showId) {
+        maps.remove(showId);
+    }
+
+    public int[] indexesOf(Long showId, String seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isBlank()) {
+            return new int[0];
+        }
+        return withLock(showId, map -> map.toIndexes(Arrays.asList(seatNumbers.split(SEPARATOR))));
+    }
+
+    public String toSeatNumbers(Long showId, int[] seats) {
+        return withLock(showId, map -> String.join(SEPARATOR, map.toLabels(seats)));
+    }
+
+    public static List<String> parseSeatNumbers(String seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isBlank()) {
+            return List.of();
+        }
+        return Arrays.asList(seatNumbers.split(SEPARATOR));
+    }
+
+    public SeatMapResponse view(Long showId) {
+        return withLock(showId, map -> new SeatMapResponse(
+                showId,
+                map.getCapacity(),
+                map.getSeatsPerRow(),
+                map.freeCount(),
+                Base64.getEncoder().encodeToString(map.toBytes())
+        ));
+    }
+
+    /**
+     * Gives shows created before seat maps existed a map, assigning concrete
+     * seats to their active bookings in booking order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyShows() {
+        List<Long> showIds = ReplicaRouting.onPrimary(showRepository::findIdsWithoutSeatMap);
+        for (Long showId : showIds) {
+            transactionTemplate.executeWithoutResult(status -> migrate(showId));
+        }
+        if (!showIds.isEmpty()) {
+            log.info("Created seat maps for {} shows", showIds.size());
+        }
+    }
+
+    private void migrate(Long showId) {
+        Show show = showRepository.findUncachedById(showId).orElse(null);
+        if (show == null) {
+            return;
+        }
+        List<Booking> active = new ArrayList<>(bookingRepository.findByShowId(showId).stream()
+                .filter(b -> b.getStatus() != Booking.BookingStatus.CANCELLED)
+                .toList());
+        active.sort(Comparator.comparing(Booking::getId));
+
+        int booked = active.stream().mapToInt(Booking::getSeats).sum();
+        SeatMap map = new SeatMap(show.getSeatsAvailable() + booked, defaultSeatsPerRow);
+        for (Booking booking : active) {
+            int[] seats = map.claimAny(booking.getSeats());
+            booking.setSeatNumbers(String.join(SEPARATOR, map.toLabels(seats)));
+            bookingRepository.save(booking);
+        }
+
+        show.setSeatCapacity(map.getCapacity());
+        show.setSeatsPerRow(map.getSeatsPerRow());
+        showRepository.save(show);
+        showRepository.updateSeatMap(showId, map.toBytes());
+        register(showId, map);
+    }
+
+    private <T> T withLock(Long showId, Function<SeatMap, T> action) {
+        Entry entry = entry(showId);
+        entry.lock.lock();
+        try {
+            return action.apply(entry.map);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    private Entry entry(Long showId) {
+        Entry entry = maps.get(showId);
+        if (entry == null) {
+            // Load outside computeIfAbsent: the map's bin lock is a monitor, and
+            // holding it across a query would pin a virtual thread
+            Entry loaded = load(showId);
+            entry = maps.computeIfAbsent(showId, id -> loaded);
+        }
+        return entry;
+    }
+
+    private Entry load(Long showId) {
+        Show show = ReplicaRouting.onPrimary(() -> showRepository.findUncachedById(showId))
+                .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + showId));
+        if (show.getSeatMap() == null || show.getSeatCapacity() == null) {
+            // Not migrated yet: only the currently available seats are known
+            SeatMap map = new SeatMap(show.getSeatsAvailable(), defaultSeatsPerRow);
+            return new Entry(map);
+        }
+        int seatsPerRow = show.getSeatsPerRow() != null ? show.getSeatsPerRow() : defaultSeatsPerRow;
+        return new Entry(SeatMap.fromBytes(show.getSeatMap(), show.getSeatCapacity(), seatsPerRow));
+    }
+
+    private static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile SeatMap map;
+
+        private Entry(SeatMap map) {
+            this.map = map;
+        }
+    }
+}
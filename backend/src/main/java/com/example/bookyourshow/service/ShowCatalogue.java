@@ -0,0 +1,164 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of the show catalogue.
+ * <p>
+ * {@link ShowResponse}s are cached by show id, and each listing query (theatre
+ * and/or normalized title fragment) caches only the ids it matched. Seat counts
+ * are not part of the cached state: every show handed out carries the live count
+ * from {@link SeatInventory}, so bookings never evict anything. Show edits evict
+ * the show and just the queries the old or new show matches. Both caches are
+ * size-bounded.
+ * <p>
+ * A load that overlaps an invalidation is returned but not cached: every
+ * invalidation bumps a generation counter, and results are only stored if the
+ * generation did not move while they were read.
+ */
+@Component
+public class ShowCatalogue {
+
+    private final SeatInventory seatInventory;
+    private final Cache<Long, ShowResponse> shows;
+    private final Cache<Query, List<Long>> queries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ShowCatalogue(SeatInventory seatInventory,
+                         @Value("${app.catalogue.max-shows:10000}") long maxShows,
+                         @Value("${app.catalogue.max-queries:1000}") long maxQueries) {
+        this.seatInventory = seatInventory;
+        this.shows = Caffeine.newBuilder().maximumSize(maxShows).build();
+        this.queries = Caffeine.newBuilder().maximumSize(maxQueries).build();
+    }
+
+    public static String normalizeTitle(String title) {
+        return title == null ? null : title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns a cached show, loading it with {@code loader} on a miss.
+     */
+    public ShowResponse get(Long id, Function<Long, ShowResponse> loader) {
+        ShowResponse cached = shows.getIfPresent(id);
+        if (cached != null) {
+            return withLiveSeats(cached);
+        }
+        long seen = generation.get();
+        ShowResponse loaded = loader.apply(id);
+        if (seen == generation.get()) {
+            shows.put(id, loaded);
+        }
+        return withLiveSeats(loaded);
+    }
+
+    /**
+     * Returns one page of the shows matching a listing query, as fetched by {@code query}.
+     *
+     * @param query   runs the query against the database on a miss
+     * @param byIds   loads shows whose entries were evicted since the query was cached
+     */
+    public List<ShowResponse> list(Long theatreId, String title, long after, int limit,
+                                   Supplier<List<ShowResponse>> query,
+                                   Function<Collection<Long>, List<ShowResponse>> byIds) {
+        Query key = new Query(theatreId, normalizeTitle(title), after, limit);
+        long seen = generation.get();
+        List<Long> ids = queries.getIfPresent(key);
+        if (ids == null) {
+            List<ShowResponse> loaded = query.get();
+            if (seen == generation.get()) {
+                loaded.forEach(show -> shows.put(show.getId(), show));
+                queries.put(key, loaded.stream().map(ShowResponse::getId).toList());
+            }
+            return loaded.stream().map(this::withLiveSeats).toList();
+        }
+
+        return getAll(ids, byIds, seen);
+    }
+
+    /**
+     * Returns the given shows in the given order, loading evicted entries with
+     * {@code byIds}. Shows that no longer exist are left out.
+     */
+    public List<ShowResponse> getAll(List<Long> ids, Function<Collection<Long>, List<ShowResponse>> byIds) {
+        return getAll(ids, byIds, generation.get());
+    }
+
+    private List<ShowResponse> getAll(List<Long> ids, Function<Collection<Long>, List<ShowResponse>> byIds, long seen) {
+        List<ShowResponse> result = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            ShowResponse show = shows.getIfPresent(id);
+            if (show == null) {
+                missing.add(id);
+            }
+            result.add(show == null ? null : withLiveSeats(show));
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<ShowResponse> loaded = byIds.apply(missing);
+        if (seen == generation.get()) {
+            loaded.forEach(show -> shows.put(show.getId(), show));
+        }
+        // Fill the gaps in order; shows deleted meanwhile are dropped
+        Map<Long, ShowResponse> byId = loaded.stream().collect(Collectors.toMap(ShowResponse::getId, Function.identity()));
+        for (int i = 0; i < result.size(); i++) {
+            if (result.get(i) == null) {
+                ShowResponse show = byId.get(ids.get(i));
+                result.set(i, show == null ? null : withLiveSeats(show));
+            }
+        }
+        result.removeIf(Objects::isNull);
+        return result;
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        generation.incrementAndGet();
+        shows.invalidate(event.showId());
+        queries.asMap().keySet().removeIf(query -> query.matches(event.before()) || query.matches(event.after()));
+    }
+
+    // The cached count is only a fallback for shows without a counter yet
+    private ShowResponse withLiveSeats(ShowResponse show) {
+        int seats = seatInventory.availableOr(show.getId(), show.getSeatsAvailable());
+        if (seats == show.getSeatsAvailable()) {
+            return show;
+        }
+        return new ShowResponse(show.getId(), show.getMovieTitle(), show.getTheatreId(), show.getDate(),
+                show.getTime(), show.getPrice(), seats, show.getLanguage(), show.getScreen());
+    }
+
+    /**
+     * A cached listing page; invalidation matches on the filters and drops every page of them.
+     */
+    private record Query(Long theatreId, String title, long after, int limit) {
+
+        boolean matches(ShowResponse show) {
+            return show != null
+                    && (theatreId == null || theatreId.equals(show.getTheatreId()))
+                    && (title == null || normalizeTitle(show.getMovieTitle()).contains(title));
+        }
+    }
+}
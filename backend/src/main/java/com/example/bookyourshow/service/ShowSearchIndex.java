@@ -0,0 +1,392 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.ShowResponse;
+import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.TheatreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over show titles, languages and theatre names.
+ * <p>
+ * Text is lower-cased, split into words and each word padded as
+ * {@code "  word "} before taking trigrams, so word starts carry extra weight
+ * (as in PostgreSQL's pg_trgm). Every show is a document with a dense int id;
+ * posting lists are append-only int arrays, so they stay sorted. Updates
+ * retire the old document and append a new one, and the posting lists are
+ * rebuilt once half of the documents are retired. Built at startup and kept
+ * current from {@link ShowChangedEvent}s after commit.
+ */
+@Component
+@Slf4j
+public class ShowSearchIndex {
+
+    private static final double MIN_SCORE = 0.3;
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double THEATRE_WEIGHT = 0.6;
+    private static final double LANGUAGE_WEIGHT = 0.4;
+    private static final double SUBSTRING_BONUS = 1.0;
+    private static final double PREFIX_BONUS = 0.5;
+    private static final int MIN_COMPACT = 1024;
+    private static final Comparator<Hit> RANKING =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::showId);
+
+    private final ShowRepository showRepository;
+    private final TheatreRepository theatreRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> titles = new HashMap<>();
+    private final Map<String, Postings> theatres = new HashMap<>();
+    private final Map<String, Postings> languages = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docByShow = new HashMap<>();
+    private int retired;
+
+    private final Map<Long, String> theatreNames = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public ShowSearchIndex(ShowRepository showRepository, TheatreRepository theatreRepository) {
+        this.showRepository = showRepository;
+        this.theatreRepository = theatreRepository;
+    }
+
+    /**
+     * A scored search hit.
+     */
+    public record Hit(Long showId, double score) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            // Read under the write lock so no change event can be applied before the snapshot
+            List<Object[]> rows = ReplicaRouting.onPrimary(showRepository::findSearchFields);
+            for (Object[] row : rows) {
+                Long theatreId = (Long) row[3];
+                theatreNames.put(theatreId, (String) row[4]);
+                // Shows already put by change events before startup (a seed import) are replaced, not duplicated
+                retire((Long) row[0]);
+                add((Long) row[0], theatreId, (String) row[1], (String) row[2], (String) row[4]);
+            }
+            compactIfNeeded();
+            ready = true;
+            log.info("Show search index built for {} shows", rows.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(CatalogueVersions.BEFORE_VERSIONS)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowChanged(ShowChangedEvent event) {
+        ShowResponse show = event.after();
+        if (show == null) {
+            remove(event.showId());
+        } else {
+            put(show.getId(), show.getTheatreId(), show.getMovieTitle(), show.getLanguage(), theatreName(show.getTheatreId()));
+        }
+    }
+
+    public void put(Long showId, Long theatreId, String title, String language, String theatreName) {
+        lock.writeLock().lock();
+        try {
+            retire(showId);
+            add(showId, theatreId, title, language, theatreName);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long showId) {
+        lock.writeLock().lock();
+        try {
+            retire(showId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked, typo-tolerant search. The last word of the query is treated as a
+     * prefix, so partially typed words match.
+     */
+    public List<Hit> search(String query, Long theatreId, int limit) {
+        String normalized = normalize(query);
+        Set<String> grams = trigrams(normalized, !query.endsWith(" "));
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        String phrase = normalized.trim();
+
+        lock.readLock().lock();
+        try {
+            float[] scores = new float[docs.size()];
+            int[] touched = new int[docs.size()];
+            int count = 0;
+            count = accumulate(titles, grams, TITLE_WEIGHT, scores, touched, count);
+            count = accumulate(theatres, grams, THEATRE_WEIGHT, scores, touched, count);
+            count = accumulate(languages, grams, LANGUAGE_WEIGHT, scores, touched, count);
+
+            // Keep only the best {@code limit} hits in a min-heap instead of sorting every candidate
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (int i = 0; i < count; i++) {
+                int id = touched[i];
+                Doc doc = docs.get(id);
+                if (doc == null || (theatreId != null && doc.theatreId != theatreId)) {
+                    continue;
+                }
+                double score = scores[id];
+                int at = doc.title.indexOf(phrase);
+                if (at == 0) {
+                    score += SUBSTRING_BONUS + PREFIX_BONUS;
+                } else if (at > 0) {
+                    score += SUBSTRING_BONUS;
+                }
+                if (score < MIN_SCORE || (best.size() == limit && score < best.peek().score())) {
+                    continue;
+                }
+                best.add(new Hit(doc.showId, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the shows whose title contains {@code fragment} (case-insensitive),
+     * ascending. Candidates come from intersecting the fragment's trigram
+     * postings and are then checked exactly.
+     */
+    public List<Long> containing(String fragment, Long theatreId) {
+        String needle = fragment.toLowerCase(Locale.ROOT);
+        List<String> grams = new ArrayList<>();
+        for (String word : normalize(needle).trim().split(" ")) {
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                grams.add(word.substring(i, i + 3));
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            if (grams.isEmpty()) {
+                // Too short for trigrams: check every live document
+                for (Doc doc : docs) {
+                    if (matches(doc, needle, theatreId)) {
+                        ids.add(doc.showId);
+                    }
+                }
+            } else {
+                for (int id : intersect(grams)) {
+                    Doc doc = docs.get(id);
+                    if (matches(doc, needle, theatreId)) {
+                        ids.add(doc.showId);
+                    }
+                }
+            }
+            ids.sort(null);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(Doc doc, String needle, Long theatreId) {
+        return doc != null
+                && (theatreId == null || doc.theatreId == theatreId)
+                && doc.lowerTitle.contains(needle);
+    }
+
+    private int[] intersect(List<String> grams) {
+        Postings[] lists = new Postings[grams.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = titles.get(grams.get(i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            Postings other = lists[l];
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < other.size && other.ids[j] < result[i]) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == result[i]) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int accumulate(Map<String, Postings> field, Set<String> grams, double weight,
+                           float[] scores, int[] touched, int count) {
+        float step = (float) (weight / grams.size());
+        for (String gram : grams) {
+            Postings postings = field.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                int id = postings.ids[i];
+                if (scores[id] == 0) {
+                    touched[count++] = id;
+                }
+                scores[id] += step;
+            }
+        }
+        return count;
+    }
+
+    private void add(Long showId, Long theatreId, String title, String language, String theatreName) {
+        int id = docs.size();
+        Doc doc = new Doc(showId, theatreId,
+                title == null ? "" : normalize(title).trim(),
+                title == null ? "" : title.toLowerCase(Locale.ROOT),
+                title, language, theatreName);
+        docs.add(doc);
+        docByShow.put(showId, id);
+        index(titles, title, id);
+        index(theatres, theatreName, id);
+        index(languages, language, id);
+    }
+
+    private static void index(Map<String, Postings> field, String text, int id) {
+        if (text == null) {
+            return;
+        }
+        for (String gram : trigrams(normalize(text), false)) {
+            field.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    private void retire(Long showId) {
+        Integer id = docByShow.remove(showId);
+        if (id != null) {
+            docs.set(id, null);
+            retired++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (retired < MIN_COMPACT || retired * 2 < docs.size()) {
+            return;
+        }
+        List<Doc> live = docs.stream().filter(doc -> doc != null).toList();
+        titles.clear();
+        theatres.clear();
+        languages.clear();
+        docs.clear();
+        docByShow.clear();
+        retired = 0;
+        for (Doc doc : live) {
+            add(doc.showId, doc.theatreId, doc.originalTitle, doc.language, doc.theatreName);
+        }
+        log.info("Show search index compacted to {} shows", docs.size());
+    }
+
+    private String theatreName(Long theatreId) {
+        String name = theatreNames.get(theatreId);
+        if (name == null) {
+            name = ReplicaRouting.onPrimary(() -> theatreRepository.findById(theatreId)).map(Theatre::getName).orElse(null);
+            if (name != null) {
+                theatreNames.put(theatreId, name);
+            }
+        }
+        return name;
+    }
+
+    static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Trigrams of every word padded as {@code "  word "}; with {@code openEnd}
+     * the last word gets no trailing pad so it matches as a prefix.
+     */
+    static Set<String> trigrams(String normalized, boolean openEnd) {
+        Set<String> grams = new LinkedHashSet<>();
+        String[] words = normalized.trim().split(" ");
+        for (int w = 0; w < words.length; w++) {
+            if (words[w].isEmpty()) {
+                continue;
+            }
+            boolean last = w == words.length - 1;
+            String padded = "  " + words[w] + (openEnd && last ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * One indexed show; {@code title} is normalized, {@code lowerTitle} only lower-cased.
+     */
+    private record Doc(long showId, long theatreId, String title, String lowerTitle,
+                       String originalTitle, String language, String theatreName) {
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.dto.SeatMapResponse;
 import com.example.bookyourshow.dto.ShowRequest;
 import com.example.bookyourshow.dto.ShowResponse;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ShowService {
     ShowResponse createShow(ShowRequest request);
+    List<ShowResponse> createShows(List<ShowRequest> requests);
     ShowResponse getShow(Long id);
-    List<ShowResponse> getShows(Optional<Long> theatreId, Optional<String> movieTitle);
+    CursorPage<ShowResponse> getShows(Optional<Long> theatreId, Optional<String> movieTitle, Long after, Integer limit);
+    List<ShowResponse> searchShows(String query, Optional<Long> theatreId, Integer limit);
     ShowResponse updateShow(Long id, ShowRequest request);
     void deleteShow(Long id);
+    SeatMapResponse getSeatMap(Long id);
+    Map<Long, Integer> getAvailability(List<Long> ids);
 }
 
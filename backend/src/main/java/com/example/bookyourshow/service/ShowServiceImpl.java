@@ -1,27 +1,70 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
+import com.example.bookyourshow.dto.SeatMapResponse;
 import com.example.bookyourshow.dto.ShowRequest;
 import com.example.bookyourshow.dto.ShowResponse;
 import com.example.bookyourshow.entity.Show;
 import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.event.ShowChangedEvent;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.exception.ConflictException;
 import com.example.bookyourshow.exception.ResourceNotFoundException;
 import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.ShowView;
 import com.example.bookyourshow.repository.TheatreRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ShowServiceImpl implements ShowService {
     
     private final ShowRepository showRepository;
     private final TheatreRepository theatreRepository;
+    private final SeatInventory seatInventory;
+    private final SeatMapRegistry seatMapRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ShowCatalogue showCatalogue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Pagination pagination;
+    private final ShowSearchIndex showSearchIndex;
+    private final ReadYourWrites readYourWrites;
+    
+    @Value("${app.shows.update-max-attempts:3}")
+    private int updateMaxAttempts;
+    
+    @Value("${app.shows.update-backoff-ms:20}")
+    private long updateBackoffMs;
+    
+    @Value("${app.shows.batch-max-size:1000}")
+    private int maxBatchSize;
+    
+    @Value("${app.search.default-limit:20}")
+    private int searchDefaultLimit;
+    
+    @Value("${app.shows.availability-max-ids:500}")
+    private int availabilityMaxIds;
     
     @Override
     @Transactional
@@ -29,6 +72,48 @@ public class ShowServiceImpl implements ShowService {
         Theatre theatre = theatreRepository.findById(request.getTheatreId())
             .orElseThrow(() -> new ResourceNotFoundException("Theatre not found with id: " + request.getTheatreId()));
         
+        SeatMap seatMap = newSeatMap(request);
+        Show saved = showRepository.save(newShow(request, theatre, seatMap));
+        return created(saved, seatMap);
+    }
+    
+    @Override
+    @Transactional
+    public List<ShowResponse> createShows(List<ShowRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " shows are allowed per batch");
+        }
+        Set<Long> theatreIds = requests.stream().map(ShowRequest::getTheatreId).collect(Collectors.toSet());
+        Map<Long, Theatre> theatres = theatreRepository.findAllById(theatreIds).stream()
+            .collect(Collectors.toMap(Theatre::getId, Function.identity()));
+        
+        List<Show> shows = new ArrayList<>(requests.size());
+        List<SeatMap> seatMaps = new ArrayList<>(requests.size());
+        for (ShowRequest request : requests) {
+            Theatre theatre = theatres.get(request.getTheatreId());
+            if (theatre == null) {
+                throw new ResourceNotFoundException("Theatre not found with id: " + request.getTheatreId());
+            }
+            SeatMap seatMap = newSeatMap(request);
+            seatMaps.add(seatMap);
+            shows.add(newShow(request, theatre, seatMap));
+        }
+        
+        // Inserted at commit in JDBC batches of hibernate.jdbc.batch_size
+        List<Show> saved = showRepository.saveAll(shows);
+        List<ShowResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            responses.add(created(saved.get(i), seatMaps.get(i)));
+        }
+        return responses;
+    }
+    
+    private SeatMap newSeatMap(ShowRequest request) {
+        int seatsPerRow = request.getSeatsPerRow() != null ? request.getSeatsPerRow() : seatMapRegistry.getDefaultSeatsPerRow();
+        return new SeatMap(request.getSeatsAvailable(), seatsPerRow);
+    }
+    
+    private Show newShow(ShowRequest request, Theatre theatre, SeatMap seatMap) {
         Show show = new Show();
         show.setMovieTitle(request.getMovieTitle());
         show.setTheatre(theatre);
@@ -37,32 +122,82 @@ public class ShowServiceImpl implements ShowService {
         show.setSeatsAvailable(request.getSeatsAvailable());
         show.setLanguage(request.getLanguage());
         show.setScreen(request.getScreen());
-        
-        Show saved = showRepository.save(show);
-        return mapToResponse(saved);
+        show.setSeatCapacity(seatMap.getCapacity());
+        show.setSeatsPerRow(seatMap.getSeatsPerRow());
+        show.setSeatMap(seatMap.toBytes());
+        return show;
+    }
+    
+    private ShowResponse created(Show saved, SeatMap seatMap) {
+        seatInventory.reset(saved.getId(), saved.getSeatsAvailable());
+        seatMapRegistry.register(saved.getId(), seatMap);
+        ShowResponse response = mapToResponse(saved);
+        eventPublisher.publishEvent(new ShowChangedEvent(saved.getId(), null, response));
+        return response;
     }
     
     @Override
     public ShowResponse getShow(Long id) {
-        Show show = showRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + id));
-        return mapToResponse(show);
+        return showCatalogue.get(id, showId -> readYourWrites.read(ReadYourWrites.Kind.SHOW, showId,
+                () -> showRepository.findViewById(showId))
+            .map(this::mapToResponse)
+            .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + showId)));
     }
     
     @Override
-    public List<ShowResponse> getShows(Optional<Long> theatreId, Optional<String> movieTitle) {
-        List<Show> shows;
+    public CursorPage<ShowResponse> getShows(Optional<Long> theatreId, Optional<String> movieTitle, Long after, Integer limit) {
+        Optional<String> title = movieTitle.map(ShowCatalogue::normalizeTitle);
+        int size = pagination.limit(limit);
+        long cursor = Pagination.after(after);
+        if (title.isPresent() && showSearchIndex.isReady()) {
+            // Title fragments are resolved by the trigram index instead of a LIKE scan
+            List<Long> ids = showSearchIndex.containing(title.get(), theatreId.orElse(null)).stream()
+                .filter(id -> id > cursor)
+                .limit(size + 1L)
+                .toList();
+            return Pagination.page(showCatalogue.getAll(ids, this::findShowsById), size, ShowResponse::getId);
+        }
+        List<ShowResponse> shows = showCatalogue.list(theatreId.orElse(null), title.orElse(null), cursor, size,
+            () -> readYourWrites.readShows(() -> findShows(theatreId, title, cursor, Pagination.fetch(size))),
+            this::findShowsById);
+        return Pagination.page(shows, size, ShowResponse::getId);
+    }
+    
+    @Override
+    public List<ShowResponse> searchShows(String query, Optional<Long> theatreId, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (!showSearchIndex.isReady()) {
+            // Still starting up: plain substring match on the title
+            return getShows(theatreId, Optional.of(query), null, limit).getItems();
+        }
+        List<Long> ids = showSearchIndex.search(query, theatreId.orElse(null), pagination.limit(limit != null ? limit : searchDefaultLimit)).stream()
+            .map(ShowSearchIndex.Hit::showId)
+            .toList();
+        return showCatalogue.getAll(ids, this::findShowsById);
+    }
+    
+    @Override
+    public Map<Long, Integer> getAvailability(List<Long> ids) {
+        if (ids.size() > availabilityMaxIds) {
+            throw new BadRequestException("At most " + availabilityMaxIds + " show ids are allowed per request");
+        }
+        // Straight from the admission counters: no entity loads, no query
+        return seatInventory.snapshot(ids);
+    }
+    
+    private List<ShowResponse> findShows(Optional<Long> theatreId, Optional<String> title, long after, Pageable page) {
+        List<ShowView> shows;
         
-        if (theatreId.isPresent() && movieTitle.isPresent()) {
-            shows = showRepository.findByTheatreId(theatreId.get()).stream()
-                .filter(s -> s.getMovieTitle().toLowerCase().contains(movieTitle.get().toLowerCase()))
-                .collect(Collectors.toList());
+        if (theatreId.isPresent() && title.isPresent()) {
+            shows = showRepository.findViewsByTheatreAndTitleAfter(theatreId.get(), title.get(), after, page);
         } else if (theatreId.isPresent()) {
-            shows = showRepository.findByTheatreId(theatreId.get());
-        } else if (movieTitle.isPresent()) {
-            shows = showRepository.findByMovieTitleContainingIgnoreCase(movieTitle.get());
+            shows = showRepository.findViewsByTheatreAfter(theatreId.get(), after, page);
+        } else if (title.isPresent()) {
+            shows = showRepository.findViewsByTitleAfter(title.get(), after, page);
         } else {
-            shows = showRepository.findAll();
+            shows = showRepository.findViewsAfter(after, page);
         }
         
         return shows.stream()
@@ -70,11 +205,38 @@ public class ShowServiceImpl implements ShowService {
             .collect(Collectors.toList());
     }
     
+    private List<ShowResponse> findShowsById(Collection<Long> ids) {
+        return readYourWrites.read(ReadYourWrites.Kind.SHOW, ids, () -> showRepository.findViewsByIdIn(ids)).stream()
+            .map(this::mapToResponse)
+            .collect(Collectors.toList());
+    }
+    
     @Override
-    @Transactional
     public ShowResponse updateShow(Long id, ShowRequest request) {
-        Show show = showRepository.findById(id)
+        // Optimistic locking on Show.version: re-read and re-apply a bounded number of times
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(id, request));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= updateMaxAttempts) {
+                    throw new ConflictException("Show " + id + " was modified concurrently, please retry");
+                }
+                log.debug("Optimistic lock conflict updating show {}, attempt {}", id, attempt);
+                try {
+                    Thread.sleep(updateBackoffMs * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new ConflictException("Show " + id + " was modified concurrently, please retry");
+                }
+            }
+        }
+    }
+    
+    private ShowResponse applyUpdate(Long id, ShowRequest request) {
+        // Uncached, so the change event's before state carries the current seat count
+        Show show = showRepository.findUncachedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + id));
+        ShowResponse before = mapToResponse(show);
         
         Theatre theatre = theatreRepository.findById(request.getTheatreId())
             .orElseThrow(() -> new ResourceNotFoundException("Theatre not found with id: " + request.getTheatreId()));
@@ -87,17 +249,53 @@ public class ShowServiceImpl implements ShowService {
         show.setLanguage(request.getLanguage());
         show.setScreen(request.getScreen());
         
+        // Keep booked seat positions and grow or shrink the map around them
+        show.setSeatCapacity(seatMapRegistry.resize(id, request.getSeatsAvailable()));
+        
         Show updated = showRepository.save(show);
-        return mapToResponse(updated);
+        // Only once committed: an attempt that loses the optimistic lock rolls back and is retried
+        int seatsAvailable = updated.getSeatsAvailable();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatInventory.reset(id, seatsAvailable);
+            }
+        });
+        ShowResponse response = mapToResponse(updated);
+        eventPublisher.publishEvent(new ShowChangedEvent(id, before, response));
+        return response;
     }
     
     @Override
     @Transactional
     public void deleteShow(Long id) {
-        if (!showRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Show not found with id: " + id);
-        }
-        showRepository.deleteById(id);
+        Show show = showRepository.findUncachedById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Show not found with id: " + id));
+        ShowResponse before = mapToResponse(show);
+        showRepository.delete(show);
+        eventPublisher.publishEvent(new ShowChangedEvent(id, before, null));
+        seatInventory.remove(id);
+        seatMapRegistry.remove(id);
+    }
+    
+    @Override
+    public SeatMapResponse getSeatMap(Long id) {
+        return seatMapRegistry.view(id);
+    }
+    
+    private ShowResponse mapToResponse(ShowView show) {
+        LocalDateTime startTime = show.startTime();
+        return new ShowResponse(
+            show.id(),
+            show.movieTitle(),
+            show.theatreId(),
+            startTime.toLocalDate(),
+            startTime.toLocalTime(),
+            show.price(),
+            show.seatsAvailable(),
+            show.language(),
+            show.screen()
+        );
     }
     
     private ShowResponse mapToResponse(Show show) {
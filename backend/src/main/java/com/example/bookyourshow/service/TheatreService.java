@@ -1,5 +1,6 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.TheatreRequest;
 import com.example.bookyourshow.dto.TheatreResponse;
 
@@ -8,7 +9,7 @@ import java.util.List;
 public interface TheatreService {
     TheatreResponse createTheatre(TheatreRequest request);
     TheatreResponse getTheatre(Long id);
-    List<TheatreResponse> getAllTheatres();
-    List<TheatreResponse> getTheatresByCity(String city);
+    CursorPage<TheatreResponse> getAllTheatres(Long after, Integer limit);
+    CursorPage<TheatreResponse> getTheatresByCity(String city, Long after, Integer limit);
 }
 
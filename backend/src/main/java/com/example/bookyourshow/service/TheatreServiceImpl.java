@@ -1,11 +1,15 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.TheatreRequest;
 import com.example.bookyourshow.dto.TheatreResponse;
 import com.example.bookyourshow.entity.Theatre;
+import com.example.bookyourshow.event.TheatreChangedEvent;
 import com.example.bookyourshow.exception.ResourceNotFoundException;
 import com.example.bookyourshow.repository.TheatreRepository;
+import com.example.bookyourshow.repository.TheatreView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +21,8 @@ import java.util.stream.Collectors;
 public class TheatreServiceImpl implements TheatreService {
     
     private final TheatreRepository theatreRepository;
+    private final Pagination pagination;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -28,28 +34,46 @@ public class TheatreServiceImpl implements TheatreService {
         theatre.setTotalSeats(request.getTotalSeats() != null ? request.getTotalSeats() : 0);
         
         Theatre saved = theatreRepository.save(theatre);
+        eventPublisher.publishEvent(new TheatreChangedEvent(saved.getId()));
         return mapToResponse(saved);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public TheatreResponse getTheatre(Long id) {
-        Theatre theatre = theatreRepository.findById(id)
+        TheatreView theatre = theatreRepository.findViewById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Theatre not found with id: " + id));
         return mapToResponse(theatre);
     }
     
     @Override
-    public List<TheatreResponse> getAllTheatres() {
-        return theatreRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public CursorPage<TheatreResponse> getAllTheatres(Long after, Integer limit) {
+        int size = pagination.limit(limit);
+        List<TheatreResponse> theatres = theatreRepository.findViewsAfter(Pagination.after(after), Pagination.fetch(size)).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
+        return Pagination.page(theatres, size, TheatreResponse::getId);
     }
     
     @Override
-    public List<TheatreResponse> getTheatresByCity(String city) {
-        return theatreRepository.findByCity(city).stream()
+    @Transactional(readOnly = true)
+    public CursorPage<TheatreResponse> getTheatresByCity(String city, Long after, Integer limit) {
+        int size = pagination.limit(limit);
+        List<TheatreResponse> theatres = theatreRepository.findViewsByCityAfter(Theatre.cityKey(city), Pagination.after(after), Pagination.fetch(size)).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
+        return Pagination.page(theatres, size, TheatreResponse::getId);
+    }
+    
+    private TheatreResponse mapToResponse(TheatreView theatre) {
+        return new TheatreResponse(
+            theatre.id(),
+            theatre.name(),
+            theatre.city(),
+            theatre.address(),
+            theatre.totalSeats()
+        );
     }
     
     private TheatreResponse mapToResponse(Theatre theatre) {
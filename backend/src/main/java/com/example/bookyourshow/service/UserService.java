@@ -1,5 +1,6 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.UserRequest;
 import com.example.bookyourshow.dto.UserResponse;
 import com.example.bookyourshow.entity.User;
@@ -12,6 +13,6 @@ public interface UserService {
     UserResponse getUserByEmail(String email);
     UserResponse updateUser(Long id, UserRequest request);
     void deleteUser(Long id);
-    List<UserResponse> getAllUsers();
+    CursorPage<UserResponse> getAllUsers(Long after, Integer limit);
 }
 
@@ -1,11 +1,13 @@
 package com.example.bookyourshow.service;
 
+import com.example.bookyourshow.dto.CursorPage;
 import com.example.bookyourshow.dto.UserRequest;
 import com.example.bookyourshow.dto.UserResponse;
 import com.example.bookyourshow.entity.User;
 import com.example.bookyourshow.exception.BadRequestException;
 import com.example.bookyourshow.exception.ResourceNotFoundException;
 import com.example.bookyourshow.repository.UserRepository;
+import com.example.bookyourshow.repository.UserView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
+    private final Pagination pagination;
     
     @Override
     @Transactional
@@ -37,15 +40,17 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getUser(Long id) {
-        User user = userRepository.findById(id)
+        UserView user = userRepository.findViewById(id)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         return mapToResponse(user);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        UserView user = userRepository.findViewByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         return mapToResponse(user);
     }
@@ -82,10 +87,23 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getAllUsers(Long after, Integer limit) {
+        int size = pagination.limit(limit);
+        List<UserResponse> users = userRepository.findViewsAfter(Pagination.after(after), Pagination.fetch(size)).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
+        return Pagination.page(users, size, UserResponse::getId);
+    }
+    
+    private UserResponse mapToResponse(UserView user) {
+        return new UserResponse(
+            user.id(),
+            user.name(),
+            user.email(),
+            user.phone(),
+            user.createdAt()
+        );
     }
     
     private UserResponse mapToResponse(User user) {
@@ -0,0 +1,10 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.WaitlistRequest;
+import com.example.bookyourshow.dto.WaitlistResponse;
+
+public interface WaitlistService {
+    WaitlistResponse join(WaitlistRequest request);
+    WaitlistResponse getEntry(Long id);
+    WaitlistResponse leave(Long id);
+}
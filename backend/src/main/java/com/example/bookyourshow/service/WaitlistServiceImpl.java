@@ -0,0 +1,304 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.BookingBatchItemResult;
+import com.example.bookyourshow.dto.BookingBatchResponse;
+import com.example.bookyourshow.dto.BookingRequest;
+import com.example.bookyourshow.dto.WaitlistRequest;
+import com.example.bookyourshow.dto.WaitlistResponse;
+import com.example.bookyourshow.entity.WaitlistEntry;
+import com.example.bookyourshow.event.SeatsReleasedEvent;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.exception.ResourceNotFoundException;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.ReplicaRouting;
+import com.example.bookyourshow.repository.ShowRepository;
+import com.example.bookyourshow.repository.UserRepository;
+import com.example.bookyourshow.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-show FIFO waitlists. Entries are persisted in {@code waitlist_entries} and
+ * mirrored in memory, so queue positions are answered without a query. Whenever
+ * seats of a show are released the show is marked, and a background drain books
+ * the queue heads in order through the batch booking path.
+ * <p>
+ * The drain claims entries ({@code WAITING -> ALLOCATING}) before booking them and
+ * settles them afterwards, all with conditional updates that {@link #leave} uses
+ * too, so an entry is either left or booked, never both. Entries a restart finds
+ * still claimed are settled from the bookings table instead of booked again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ShowRepository showRepository;
+    private final BookingService bookingService;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.waitlist.batch-size:100}")
+    private int batchSize;
+
+    private final Map<Long, NavigableMap<Long, WaitlistEntry>> queues = new ConcurrentHashMap<>();
+    private final Map<Long, WaitlistEntry> waiting = new ConcurrentHashMap<>();
+    private final Set<Long> signaled = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public WaitlistResponse join(WaitlistRequest request) {
+        // On the primary, so a user or show created moments ago is not rejected while a replica lags
+        if (!ReplicaRouting.onPrimary(() -> userRepository.existsById(request.getUserId()))) {
+            throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+        }
+        if (!ReplicaRouting.onPrimary(() -> showRepository.existsById(request.getShowId()))) {
+            throw new ResourceNotFoundException("Show not found with id: " + request.getShowId());
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUserId(request.getUserId());
+        entry.setShowId(request.getShowId());
+        entry.setSeats(request.getSeats());
+        entry.setStatus(WaitlistEntry.WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+
+        enqueue(saved);
+        // Seats may already be free again; let the drain decide
+        signaled.add(saved.getShowId());
+        return mapToResponse(saved);
+    }
+
+    @Override
+    public WaitlistResponse getEntry(Long id) {
+        WaitlistEntry entry = waiting.get(id);
+        if (entry != null) {
+            return mapToResponse(entry);
+        }
+        return waitlistEntryRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + id));
+    }
+
+    @Override
+    @Transactional
+    public WaitlistResponse leave(Long id) {
+        // Fails once the drain has claimed the entry, whose booking may be committing
+        if (waitlistEntryRepository.transition(id, WaitlistEntry.WaitlistStatus.WAITING,
+                WaitlistEntry.WaitlistStatus.CANCELLED, null) == 0) {
+            if (!waitlistEntryRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Waitlist entry not found with id: " + id);
+            }
+            throw new BadRequestException("Waitlist entry is no longer waiting");
+        }
+        WaitlistEntry entry = waiting.remove(id);
+        if (entry == null) {
+            return waitlistEntryRepository.findById(id)
+                    .map(this::mapToResponse)
+                    .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + id));
+        }
+        dequeue(entry);
+        entry.setStatus(WaitlistEntry.WaitlistStatus.CANCELLED);
+        return mapToResponse(entry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaiting() {
+        settleInterrupted();
+        List<WaitlistEntry> entries = ReplicaRouting.onPrimary(
+                () -> waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistEntry.WaitlistStatus.WAITING));
+        entries.forEach(this::enqueue);
+        signaled.addAll(queues.keySet());
+        if (!entries.isEmpty()) {
+            log.info("Loaded {} waitlist entries", entries.size());
+        }
+    }
+
+    /**
+     * Settles entries a restart caught between claim and settle: allocated if their user
+     * has booked the show since joining the waitlist, otherwise back in the queue.
+     */
+    private void settleInterrupted() {
+        List<WaitlistEntry> interrupted = ReplicaRouting.onPrimary(
+                () -> waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistEntry.WaitlistStatus.ALLOCATING));
+        for (WaitlistEntry entry : interrupted) {
+            Long bookingId = ReplicaRouting.onPrimary(() -> bookingRepository.findFirstIdSince(
+                    entry.getUserId(), entry.getShowId(), entry.getCreatedAt()));
+            WaitlistEntry.WaitlistStatus settled = bookingId != null
+                    ? WaitlistEntry.WaitlistStatus.ALLOCATED
+                    : WaitlistEntry.WaitlistStatus.WAITING;
+            transactionTemplate.executeWithoutResult(status -> waitlistEntryRepository.transition(
+                    entry.getId(), WaitlistEntry.WaitlistStatus.ALLOCATING, settled, bookingId));
+        }
+        if (!interrupted.isEmpty()) {
+            log.info("Settled {} waitlist entries interrupted during allocation", interrupted.size());
+        }
+    }
+
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        NavigableMap<Long, WaitlistEntry> queue = queues.get(event.showId());
+        if (queue != null && !queue.isEmpty()) {
+            signaled.add(event.showId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.drain-interval-ms:250}")
+    public void drain() {
+        for (Long showId : new ArrayList<>(signaled)) {
+            signaled.remove(showId);
+            try {
+                allocate(showId);
+            } catch (RuntimeException e) {
+                log.error("Waitlist allocation failed for show {}", showId, e);
+            }
+        }
+    }
+
+    private void allocate(Long showId) {
+        NavigableMap<Long, WaitlistEntry> queue = queues.get(showId);
+        while (queue != null && !queue.isEmpty()) {
+            int available;
+            try {
+                available = seatInventory.available(showId);
+            } catch (ResourceNotFoundException e) {
+                // Show was deleted; nobody can be served any more
+                List<WaitlistEntry> orphaned = new ArrayList<>(queue.values());
+                transactionTemplate.executeWithoutResult(status -> orphaned.forEach(entry ->
+                        finish(entry, WaitlistEntry.WaitlistStatus.WAITING, WaitlistEntry.WaitlistStatus.CANCELLED, null)));
+                return;
+            }
+
+            // Strict FIFO: stop at the first head that does not fit
+            List<WaitlistEntry> batch = new ArrayList<>();
+            for (WaitlistEntry entry : queue.values()) {
+                if (batch.size() >= batchSize || entry.getSeats() > available) {
+                    break;
+                }
+                available -= entry.getSeats();
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<WaitlistEntry> claimed = transactionTemplate.execute(status -> claim(batch));
+            if (claimed.isEmpty()) {
+                // All of them left meanwhile
+                continue;
+            }
+
+            BookingBatchResponse response;
+            try {
+                response = bookingService.createBookings(claimed.stream()
+                        .map(entry -> new BookingRequest(entry.getUserId(), showId, entry.getSeats(), null))
+                        .toList());
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> claimed.forEach(this::unclaim));
+                throw e;
+            }
+
+            boolean blocked = transactionTemplate.execute(status -> {
+                boolean stop = false;
+                for (BookingBatchItemResult result : response.getResults()) {
+                    WaitlistEntry entry = claimed.get(result.getIndex());
+                    if (result.getBooking() != null) {
+                        finish(entry, WaitlistEntry.WaitlistStatus.ALLOCATING, WaitlistEntry.WaitlistStatus.ALLOCATED,
+                                result.getBooking().getId());
+                    } else if (result.getStatus() == HttpStatus.NOT_FOUND.value()) {
+                        finish(entry, WaitlistEntry.WaitlistStatus.ALLOCATING, WaitlistEntry.WaitlistStatus.CANCELLED, null);
+                    } else {
+                        unclaim(entry);
+                        stop = true;
+                    }
+                }
+                return stop;
+            });
+            if (response.getSucceeded() > 0) {
+                log.info("Allocated {} waitlisted bookings for show {}", response.getSucceeded(), showId);
+            }
+            if (blocked || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims the entries still waiting, dropping the ones that have left meanwhile.
+     */
+    private List<WaitlistEntry> claim(List<WaitlistEntry> batch) {
+        List<WaitlistEntry> claimed = new ArrayList<>(batch.size());
+        for (WaitlistEntry entry : batch) {
+            if (waitlistEntryRepository.transition(entry.getId(), WaitlistEntry.WaitlistStatus.WAITING,
+                    WaitlistEntry.WaitlistStatus.ALLOCATING, null) == 1) {
+                entry.setStatus(WaitlistEntry.WaitlistStatus.ALLOCATING);
+                claimed.add(entry);
+            } else {
+                waiting.remove(entry.getId());
+                dequeue(entry);
+            }
+        }
+        return claimed;
+    }
+
+    private void unclaim(WaitlistEntry entry) {
+        waitlistEntryRepository.transition(entry.getId(), WaitlistEntry.WaitlistStatus.ALLOCATING,
+                WaitlistEntry.WaitlistStatus.WAITING, null);
+        entry.setStatus(WaitlistEntry.WaitlistStatus.WAITING);
+    }
+
+    private void finish(WaitlistEntry entry, WaitlistEntry.WaitlistStatus from, WaitlistEntry.WaitlistStatus to,
+                        Long bookingId) {
+        waitlistEntryRepository.transition(entry.getId(), from, to, bookingId);
+        waiting.remove(entry.getId());
+        dequeue(entry);
+    }
+
+    private void enqueue(WaitlistEntry entry) {
+        waiting.put(entry.getId(), entry);
+        queues.computeIfAbsent(entry.getShowId(), id -> new ConcurrentSkipListMap<>()).put(entry.getId(), entry);
+    }
+
+    private void dequeue(WaitlistEntry entry) {
+        NavigableMap<Long, WaitlistEntry> queue = queues.get(entry.getShowId());
+        if (queue != null) {
+            queue.remove(entry.getId());
+        }
+    }
+
+    private WaitlistResponse mapToResponse(WaitlistEntry entry) {
+        Integer position = null;
+        if (entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING) {
+            NavigableMap<Long, WaitlistEntry> queue = queues.get(entry.getShowId());
+            position = queue == null ? 1 : queue.headMap(entry.getId(), false).size() + 1;
+        }
+        return new WaitlistResponse(
+                entry.getId(),
+                entry.getUserId(),
+                entry.getShowId(),
+                entry.getSeats(),
+                entry.getStatus().name(),
+                position,
+                entry.getBookingId(),
+                entry.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bookyourshow.journal;
+
+import com.example.bookyourshow.event.BookingChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Recovery of a segment whose group flush was cut short by a crash: a torn record
+ * with intact records written behind it.
+ */
+class JournalFormatTest {
+
+    private static final int SEGMENT_BYTES = 1 << 18;
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    @Test
+    void clearsEverythingAfterATornMiddleRecord() {
+        ByteBuffer segment = ByteBuffer.allocate(SEGMENT_BYTES);
+        JournalFormat.writeHeader(segment, 0);
+        int tornAt = append(segment, JournalFormat.SEGMENT_HEADER, 1);
+        // Records behind the torn one reach well past the largest possible record
+        List<Integer> staleAt = new ArrayList<>();
+        int position = append(segment, tornAt, 2);
+        for (long id = 3; position < SEGMENT_BYTES / 2; id++) {
+            staleAt.add(position);
+            position = append(segment, position, id);
+        }
+        // The second record's body never reached the disk, the records after it did
+        segment.put(tornAt + JournalFormat.RECORD_HEADER + 9, (byte) 0x7f);
+
+        int end = JournalFormat.validEnd(segment);
+        assertEquals(tornAt, end);
+
+        int dirtyEnd = JournalFormat.clearFrom(segment, end);
+        assertEquals(position, dirtyEnd);
+        for (int i = end; i < SEGMENT_BYTES; i++) {
+            assertEquals(0, segment.get(i), "byte " + i);
+        }
+
+        // An append after recovery closes the gap; nothing from before the crash follows it
+        int next = append(segment, end, 100);
+        assertEquals(staleAt.get(0), next);
+        assertEquals(next, JournalFormat.validEnd(segment));
+        for (int at : staleAt) {
+            assertNull(JournalFormat.decode(segment, at, 0));
+        }
+    }
+
+    @Test
+    void leavesACleanSegmentUntouched() {
+        ByteBuffer segment = ByteBuffer.allocate(SEGMENT_BYTES);
+        JournalFormat.writeHeader(segment, 0);
+        int end = append(segment, JournalFormat.SEGMENT_HEADER, 1);
+
+        assertEquals(end, JournalFormat.validEnd(segment));
+        assertEquals(end, JournalFormat.clearFrom(segment, end));
+        assertEquals(1, JournalFormat.decode(segment, JournalFormat.SEGMENT_HEADER, 0).bookingId());
+    }
+
+    private int append(ByteBuffer segment, int position, long bookingId) {
+        byte[] seatNumbers = JournalFormat.seatNumbers(List.of("A1", "A2"));
+        int size = JournalFormat.encode(scratch, 1_700_000_000_000L, BookingChangedEvent.Change.BOOKED, bookingId,
+                7, 11, 2, 2500, seatNumbers);
+        segment.put(position, scratch, 0, size);
+        return position + size;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.bookyourshow.service;
+
+import com.example.bookyourshow.dto.BookingRequest;
+import com.example.bookyourshow.entity.Booking;
+import com.example.bookyourshow.entity.Show;
+import com.example.bookyourshow.exception.BadRequestException;
+import com.example.bookyourshow.repository.BookingRepository;
+import com.example.bookyourshow.repository.ShowRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A booking update racing its cancel either wins and has its new seat count returned
+ * by the cancel, or is rejected: the show ends where it was before the booking.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UpdateBookingConcurrencyTest {
+
+    private static final int ROUNDS = 25;
+    private static final int SEATS = 2;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private SeatInventory seatInventory;
+    @Autowired
+    private SeatMapRegistry seatMapRegistry;
+    @Autowired
+    private ShowRepository showRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private ExecutorService executor;
+    private Long showId;
+
+    @BeforeAll
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        showId = showRepository.findAll().stream()
+                .filter(show -> show.getSeatsAvailable() >= SEATS + 1)
+                .map(Show::getId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @AfterAll
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void updateRacingCancelReturnsSeatsOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Long bookingId = bookingService.createBooking(request(SEATS)).getId();
+            int before = seatsAvailable();
+
+            race(() -> updateIfActive(bookingId), () -> bookingService.cancelBooking(bookingId) != null);
+
+            assertReturnedOnce(bookingId, before);
+        }
+    }
+
+    private BookingRequest request(int seats) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(1L);
+        request.setShowId(showId);
+        request.setSeats(seats);
+        return request;
+    }
+
+    private boolean updateIfActive(Long bookingId) {
+        try {
+            return bookingService.updateBooking(bookingId, request(SEATS + 1)) != null;
+        } catch (BadRequestException e) {
+            // Cancelled first
+            return false;
+        }
+    }
+
+    private List<Boolean> race(Callable<Boolean> first, Callable<Boolean> second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Boolean> a = executor.submit(() -> {
+            start.await();
+            return first.call();
+        });
+        Future<Boolean> b = executor.submit(() -> {
+            start.await();
+            return second.call();
+        });
+        start.countDown();
+        return List.of(a.get(), b.get());
+    }
+
+    private void assertReturnedOnce(Long bookingId, int before) {
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+        assertEquals(before + SEATS, seatsAvailable());
+        assertEquals(before + SEATS, seatInventory.available(showId));
+        assertEquals(before + SEATS, seatMapRegistry.view(showId).getSeatsAvailable());
+    }
+
+    private int seatsAvailable() {
+        return showRepository.findSeatsAvailableById(showId).orElseThrow();
+    }
+}